@@ -0,0 +1,114 @@
+package com.codecollab.v1.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the JMH benchmarks and compares each score with src/jmh/baseline.json.
+ * The build fails when a benchmark is slower than its baseline by more than the
+ * threshold, counting only the part of the slowdown outside JMH's error margin.
+ *
+ * Arguments: baseline file, JMH result file, threshold (0.25 = 25%),
+ * update-baseline flag, and an optional benchmark regex. With the update flag the
+ * measured scores are written to the baseline instead of being checked.
+ */
+public final class BenchmarkGate {
+
+	private static final String PACKAGE_PREFIX = "com.codecollab.v1.";
+
+	private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	public record Baseline(double score, String unit) {}
+
+	private BenchmarkGate() {}
+
+	public static void main(String[] args) throws RunnerException, IOException {
+		File baselineFile = new File(args[0]);
+		String resultFile = args[1];
+		double threshold = Double.parseDouble(args[2]);
+		boolean updateBaseline = Boolean.parseBoolean(args[3]);
+		String include = args.length > 4 && !args[4].isBlank() ? args[4] : PACKAGE_PREFIX + ".*Benchmark";
+
+		Options options = new OptionsBuilder()
+			.include(include)
+			.resultFormat(ResultFormatType.JSON)
+			.result(resultFile)
+			.build();
+		Collection<RunResult> results = new Runner(options).run();
+
+		Map<String, Baseline> baselines = baselineFile.exists()
+			? MAPPER.readValue(baselineFile, new TypeReference<TreeMap<String, Baseline>>() {})
+			: new TreeMap<>();
+
+		if (updateBaseline) {
+			for (RunResult result : results) {
+				Result<?> primary = result.getPrimaryResult();
+				baselines.put(key(result), new Baseline(round(primary.getScore()), primary.getScoreUnit()));
+			}
+			MAPPER.writeValue(baselineFile, baselines);
+			System.out.println("Baseline updated: " + baselineFile);
+			return;
+		}
+
+		List<String> regressions = new ArrayList<>();
+		System.out.printf("%n%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Score", "Change");
+		for (RunResult result : results) {
+			String key = key(result);
+			Result<?> primary = result.getPrimaryResult();
+			Baseline baseline = baselines.get(key);
+			if (baseline == null) {
+				System.out.printf("%-80s %14s %14.3f %9s%n", key, "-", primary.getScore(), "new");
+				continue;
+			}
+			if (!baseline.unit().equals(primary.getScoreUnit())) {
+				regressions.add(key + ": unit changed from " + baseline.unit() + " to " + primary.getScoreUnit());
+				continue;
+			}
+			double change = primary.getScore() / baseline.score() - 1;
+			System.out.printf("%-80s %14.3f %14.3f %+8.1f%%%n", key, baseline.score(), primary.getScore(), change * 100);
+			// Every benchmark reports average time, so a higher score is a slowdown
+			double error = Double.isNaN(primary.getScoreError()) ? 0 : primary.getScoreError();
+			if (primary.getScore() - error > baseline.score() * (1 + threshold)) {
+				regressions.add(String.format("%s: %.3f %s against a baseline of %.3f", key, primary.getScore(),
+					primary.getScoreUnit(), baseline.score()));
+			}
+		}
+
+		if (!regressions.isEmpty()) {
+			System.err.printf("%n%d benchmark(s) regressed by more than %.0f%%:%n", regressions.size(), threshold * 100);
+			regressions.forEach(regression -> System.err.println("  " + regression));
+			System.exit(1);
+		}
+		System.out.printf("%nNo regressions beyond %.0f%%%n", threshold * 100);
+	}
+
+	// Benchmark name without the common package, plus its parameters: service.XBenchmark.method[size=10]
+	static String key(RunResult result) {
+		String name = result.getParams().getBenchmark().substring(PACKAGE_PREFIX.length());
+		List<String> params = new ArrayList<>();
+		for (String param : result.getParams().getParamsKeys()) {
+			params.add(param + "=" + result.getParams().getParam(param));
+		}
+		return params.isEmpty() ? name : name + params;
+	}
+
+	private static double round(double score) {
+		return Math.round(score * 1000) / 1000.0;
+	}
+}
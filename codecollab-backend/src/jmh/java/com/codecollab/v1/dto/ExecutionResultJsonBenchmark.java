@@ -0,0 +1,55 @@
+package com.codecollab.v1.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a verdict the way the controllers and the room topic send it.
+ * Failed cases carry previews up to 4 KB, as CodeExecutionService produces them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionResultJsonBenchmark {
+
+	@Param({"10", "100"})
+	private int testCaseCount;
+
+	private ObjectMapper objectMapper;
+	private ExecutionResult result;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+		List<ExecutionResult.TestCaseResult> testCaseResults = new ArrayList<>();
+		String preview = "42 17 8 1000000007\n".repeat(200);
+		for (int i = 0; i < testCaseCount; i++) {
+			boolean passed = i % 4 != 3;
+			ExecutionResult.TestCaseResult testCaseResult =
+				new ExecutionResult.TestCaseResult(passed, preview, passed ? preview : preview.substring(1));
+			if (!passed) {
+				testCaseResult.setError("Wrong Answer");
+			}
+			testCaseResults.add(testCaseResult);
+		}
+
+		result = new ExecutionResult("WA", "Passed " + (testCaseCount * 3 / 4) + " out of " + testCaseCount + " test cases");
+		result.setTotalTestCases(testCaseCount);
+		result.setPassedTestCases(testCaseCount * 3 / 4);
+		result.setTestCaseResults(testCaseResults);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return objectMapper.writeValueAsBytes(result);
+	}
+}
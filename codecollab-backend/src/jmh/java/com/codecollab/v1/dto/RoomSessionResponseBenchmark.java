@@ -0,0 +1,70 @@
+package com.codecollab.v1.dto;
+
+import com.codecollab.v1.entity.Problem;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the session payload sent on every room poll and join.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomSessionResponseBenchmark {
+
+	@Param({"2", "16"})
+	private int memberCount;
+
+	private Room room;
+	private List<RoomMemberInfo> members;
+
+	@Setup
+	public void setUp() {
+		User host = new User("host", "host@example.com", "hash");
+		room = new Room("ABC123", "Benchmark room", host, Room.RoomMode.TOURNAMENT);
+		room.setStatus(Room.RoomStatus.ACTIVE);
+		room.setStartTime(LocalDateTime.now());
+		room.setTimeLimit(60);
+
+		Problem problem = new Problem();
+		problem.setId(1L);
+		problem.setTitle("Two Sum");
+		problem.setDescription("Given an array of integers, return indices of the two numbers adding up to a target. ".repeat(40));
+		problem.setInputFormat("n, then n integers, then the target");
+		problem.setOutputFormat("Two indices");
+		problem.setConstraints("2 <= n <= 10^5");
+		problem.setSampleInput("4\n2 7 11 15\n9");
+		problem.setSampleOutput("0 1");
+		problem.setExplanation("2 + 7 = 9");
+		room.setCurrentProblem(problem);
+
+		members = new ArrayList<>();
+		for (int i = 0; i < memberCount; i++) {
+			RoomMemberInfo member = new RoomMemberInfo();
+			member.setUsername("player" + i);
+			member.setEmail("player" + i + "@example.com");
+			member.setRating(1500 + i);
+			member.setRole(i == 0 ? RoomMember.MemberRole.HOST : RoomMember.MemberRole.MEMBER);
+			member.setStatus(RoomMember.MemberStatus.JOINED);
+			member.setJoinedAt(LocalDateTime.now());
+			member.setScore(i * 10);
+			member.setRank(i + 1);
+			members.add(member);
+		}
+	}
+
+	@Benchmark
+	public RoomSessionResponse fromRoom() {
+		return RoomSessionResponse.fromRoom(room, members);
+	}
+}
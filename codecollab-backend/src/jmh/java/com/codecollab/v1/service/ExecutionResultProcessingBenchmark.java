@@ -0,0 +1,105 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.util.OutputComparator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Judging one Judge0 response: base64 decode of stdout, trimmed byte comparison
+ * against the mapped expected output, and the verdict previews.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionResultProcessingBenchmark {
+
+	@Param({"65536", "4194304"})
+	private int outputBytes;
+
+	private Path directory;
+	private CodeExecutionService executionService;
+	private TestCase testCase;
+	private CodeExecutionService.Judge0Result accepted;
+	private CodeExecutionService.Judge0Result wrongAnswer;
+	private ByteBuffer expected;
+	private ByteBuffer actual;
+
+	@Setup
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("jmh-testdata");
+		TestDataStore testDataStore = new TestDataStore();
+		ReflectionTestUtils.setField(testDataStore, "directory", directory.toString());
+		ReflectionTestUtils.setField(testDataStore, "maxMappedBytes", 1L << 30);
+		testDataStore.init();
+
+		executionService = new CodeExecutionService(WebClient.builder());
+		ReflectionTestUtils.setField(executionService, "testDataStore", testDataStore);
+
+		String output = numberLines(outputBytes);
+		testCase = new TestCase();
+		testDataStore.attach(testCase, "", output);
+
+		// Judge0 sends MIME base64 with line breaks, and programs often print a trailing newline
+		accepted = judge0Result(3, output + "\n");
+		wrongAnswer = judge0Result(3, output.substring(0, output.length() - 2) + "x\n");
+
+		expected = testDataStore.expectedOutput(testCase);
+		actual = ByteBuffer.wrap((output + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	@Benchmark
+	public ExecutionResult.TestCaseResult processAccepted() throws IOException {
+		ExecutionResult.TestCaseResult result = new ExecutionResult.TestCaseResult();
+		executionService.processResult(accepted, testCase, result);
+		return result;
+	}
+
+	@Benchmark
+	public ExecutionResult.TestCaseResult processWrongAnswer() throws IOException {
+		ExecutionResult.TestCaseResult result = new ExecutionResult.TestCaseResult();
+		executionService.processResult(wrongAnswer, testCase, result);
+		return result;
+	}
+
+	@Benchmark
+	public boolean compareOutputs() {
+		return OutputComparator.matchesTrimmed(expected, actual);
+	}
+
+	private static CodeExecutionService.Judge0Result judge0Result(int statusId, String stdout) {
+		CodeExecutionService.Judge0Result result = new CodeExecutionService.Judge0Result();
+		result.status = new CodeExecutionService.Judge0Status();
+		result.status.id = statusId;
+		result.status.description = "Accepted";
+		result.stdout = Base64.getMimeEncoder().encodeToString(stdout.getBytes(StandardCharsets.UTF_8));
+		return result;
+	}
+
+	private static String numberLines(int bytes) {
+		StringBuilder output = new StringBuilder(bytes + 16);
+		for (int i = 0; output.length() < bytes; i++) {
+			output.append(i).append('\n');
+		}
+		return output.toString();
+	}
+}
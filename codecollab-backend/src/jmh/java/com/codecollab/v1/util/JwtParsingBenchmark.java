@@ -0,0 +1,46 @@
+package com.codecollab.v1.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by JwtAuthenticationFilter on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+
+	private JwtUtil jwtUtil;
+	private String token;
+	private String tamperedToken;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-benchmark-secret-benchmark-secret");
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+		jwtUtil.init();
+
+		token = jwtUtil.generateToken("benchmark-user");
+		// Same length, bad signature: the filter's rejection path
+		char last = token.charAt(token.length() - 1);
+		tamperedToken = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+	}
+
+	@Benchmark
+	public Claims parseClaims() {
+		return jwtUtil.parseClaims(token);
+	}
+
+	@Benchmark
+	public boolean rejectTamperedToken() {
+		return jwtUtil.validateToken(tamperedToken);
+	}
+}
@@ -4,19 +4,30 @@ import com.codecollab.v1.entity.Problem;
 import com.codecollab.v1.entity.TestCase;
 import com.codecollab.v1.repository.ProblemRepository;
 import com.codecollab.v1.repository.TestCaseRepository;
+import com.codecollab.v1.service.TestDataStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.List;
+
 @Component
 public class DataInitializer implements CommandLineRunner {
     
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+    
     @Autowired
     private ProblemRepository problemRepository;
     
     @Autowired
     private TestCaseRepository testCaseRepository;
     
+    @Autowired
+    private TestDataStore testDataStore;
+    
     @Override
     public void run(String... args) throws Exception {
         if (problemRepository.count() == 0) {
@@ -24,7 +35,7 @@ public class DataInitializer implements CommandLineRunner {
         }
     }
     
-    private void initializeProblems() {
+    private void initializeProblems() throws IOException {
         // Problem 1: Two Sum
         Problem twoSum = new Problem();
         twoSum.setTitle("Two Sum");
@@ -40,9 +51,10 @@ public class DataInitializer implements CommandLineRunner {
         problemRepository.save(twoSum);
         
         // Test cases for Two Sum
-        createTestCase(twoSum, "4\n2 7 11 15\n9", "0 1", true, 10);
-        createTestCase(twoSum, "3\n3 2 4\n6", "1 2", false, 15);
-        createTestCase(twoSum, "2\n3 3\n6", "0 1", false, 15);
+        testCaseRepository.saveAll(List.of(
+            createTestCase(twoSum, "4\n2 7 11 15\n9", "0 1", true, 10),
+            createTestCase(twoSum, "3\n3 2 4\n6", "1 2", false, 15),
+            createTestCase(twoSum, "2\n3 3\n6", "0 1", false, 15)));
         
         // Problem 2: Reverse String
         Problem reverseString = new Problem();
@@ -59,20 +71,21 @@ public class DataInitializer implements CommandLineRunner {
         problemRepository.save(reverseString);
         
         // Test cases for Reverse String
-        createTestCase(reverseString, "hello", "olleh", true, 20);
-        createTestCase(reverseString, "Hannah", "hannaH", false, 20);
-        createTestCase(reverseString, "a", "a", false, 20);
+        testCaseRepository.saveAll(List.of(
+            createTestCase(reverseString, "hello", "olleh", true, 20),
+            createTestCase(reverseString, "Hannah", "hannaH", false, 20),
+            createTestCase(reverseString, "a", "a", false, 20)));
         
-        System.out.println("Sample problems initialized successfully!");
+        log.info("Sample problems initialized");
     }
     
-    private void createTestCase(Problem problem, String input, String output, boolean isSample, int points) {
+    // Saved per problem with saveAll, which Hibernate sends as one JDBC batch
+    private TestCase createTestCase(Problem problem, String input, String output, boolean isSample, int points) throws IOException {
         TestCase testCase = new TestCase();
         testCase.setProblem(problem);
-        testCase.setInputData(input);
-        testCase.setExpectedOutput(output);
+        testDataStore.attach(testCase, input, output);
         testCase.setIsSample(isSample);
         testCase.setPoints(points);
-        testCaseRepository.save(testCase);
+        return testCase;
     }
 }
\ No newline at end of file
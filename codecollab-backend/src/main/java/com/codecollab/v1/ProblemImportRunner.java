@@ -0,0 +1,37 @@
+package com.codecollab.v1;
+
+import com.codecollab.v1.service.ProblemImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Command line import: --import-problems=/path/to/archive.zip
+@Component
+public class ProblemImportRunner implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProblemImportRunner.class);
+    
+    @Autowired
+    private ProblemImportService problemImportService;
+    
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("import-problems")) {
+            return;
+        }
+        for (String archive : args.getOptionValues("import-problems")) {
+            log.info("Importing problems from {}", archive);
+            try (InputStream in = Files.newInputStream(Path.of(archive))) {
+                problemImportService.importArchive(in).getErrors().forEach(error ->
+                    log.warn("Import: {}", error));
+            }
+        }
+    }
+}
@@ -1,12 +1,15 @@
 
 package com.codecollab.v1.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 @EnableAsync
 public class AsyncConfig {
@@ -22,4 +25,44 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "roundTimerTaskExecutor")
+    public TaskExecutor roundTimerTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);        // Rooms expiring at the same tick are handled in parallel
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(256);     // Beyond this the timer backs off and retries the room
+        executor.setThreadNamePrefix("RoundTimer-");
+        executor.initialize();
+        return executor;
+    }
+
+    // One task per member whose draft is auto-submitted. When the queue is full the room's
+    // RoundTimer thread runs the member itself, which slows down expiring more rooms
+    @Bean(name = "autoSubmitTaskExecutor")
+    public ThreadPoolTaskExecutor autoSubmitTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(512);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("AutoSubmit-");
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt is pure CPU, so one thread per core and a short queue, anything beyond is rejected
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("PasswordHash-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,71 @@
+package com.codecollab.v1.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    // The MySQL primary from spring.datasource.*, takes every write
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Only when datasource.replica.url is set. The pool is read-only so a misrouted write fails instead of diverging
+    @Bean
+    @ConditionalOnProperty("datasource.replica.url")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password}}") String password,
+            @Value("${datasource.replica.pool-size:10}") int poolSize) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // What JPA, Flyway and JdbcTemplate use. Without a replica both routes lead to the primary.
+    // The lazy proxy matters: JpaTransactionManager asks for a connection at begin, before the
+    // read-only flag is bound, so the route is only picked once the first statement runs
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica) {
+        DataSource readDataSource = replica.getIfAvailable(() -> primary);
+        log.info(readDataSource == primary
+            ? "No read replica configured, read-only transactions use the primary"
+            : "Read-only transactions are routed to the replica pool");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, readDataSource);
+        // Not a bean of its own, so Spring will not initialize it
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
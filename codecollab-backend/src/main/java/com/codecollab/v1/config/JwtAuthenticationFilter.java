@@ -0,0 +1,71 @@
+package com.codecollab.v1.config;
+
+import com.codecollab.v1.dto.UserPrincipal;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.service.UserCache;
+import com.codecollab.v1.util.ExpiringCache;
+import com.codecollab.v1.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates "Authorization: Bearer <jwt>" requests once, before any controller.
+ *
+ * A token is verified on first sight only. After that its subject is served from
+ * a bounded cache until the token's own exp and the user comes from UserCache,
+ * so steady-state requests do no signature check and no users query.
+ * Requests without a valid token continue anonymously and controllers decide.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    
+    private final JwtUtil jwtUtil;
+    private final UserCache userCache;
+    private final ExpiringCache<String, String> subjects;
+    
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserCache userCache, int cacheSize) {
+        this.jwtUtil = jwtUtil;
+        this.userCache = userCache;
+        this.subjects = new ExpiringCache<>(cacheSize);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            User user = authenticate(header.substring("Bearer ".length()));
+            if (user != null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, List.of()));
+            }
+        }
+        chain.doFilter(request, response);
+    }
+    
+    private User authenticate(String jwt) {
+        String username = subjects.get(jwt);
+        if (username == null) {
+            try {
+                Claims claims = jwtUtil.parseClaims(jwt);
+                username = claims.getSubject();
+                if (username != null && claims.getExpiration() != null) {
+                    subjects.put(jwt, username, claims.getExpiration().getTime());
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return username == null ? null : userCache.getByUsername(username).map(UserPrincipal::toUser).orElse(null);
+    }
+}
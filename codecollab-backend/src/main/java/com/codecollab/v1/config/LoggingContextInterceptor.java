@@ -0,0 +1,43 @@
+package com.codecollab.v1.config;
+
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.util.LogContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Puts the {roomCode} path variable and the authenticated username into the MDC
+ * for the duration of a request, so every line logged while serving it carries them.
+ */
+public class LoggingContextInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables != null && variables.get("roomCode") != null) {
+            MDC.put(LogContext.ROOM_CODE, variables.get("roomCode").toUpperCase());
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            MDC.put(LogContext.USER, user.getUsername());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        MDC.remove(LogContext.ROOM_CODE);
+        MDC.remove(LogContext.USER);
+        MDC.remove(LogContext.SUBMISSION_ID);
+    }
+}
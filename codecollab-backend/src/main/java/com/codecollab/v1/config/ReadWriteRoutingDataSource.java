@@ -0,0 +1,35 @@
+package com.codecollab.v1.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections opened inside a @Transactional(readOnly = true) to the
+ * replica pool and everything else (writes, and reads outside a read-only
+ * transaction) to the primary.
+ *
+ * The decision is made when a connection is acquired. Transactions begin before
+ * the read-only flag is bound, so DataSourceConfig wraps this in a
+ * LazyConnectionDataSourceProxy that only acquires on the first statement.
+ * Hibernate must also release the connection after each transaction rather
+ * than hold it for the whole request (hibernate.connection.handling_mode in
+ * application.properties).
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
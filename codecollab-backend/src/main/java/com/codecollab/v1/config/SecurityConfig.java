@@ -1,5 +1,9 @@
 package com.codecollab.v1.config;
 
+import com.codecollab.v1.service.UserCache;
+import com.codecollab.v1.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,11 +12,21 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Value("${jwt.principal-cache.size:10000}")
+    private int principalCacheSize;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -25,21 +39,27 @@ public class SecurityConfig {
                 .requestMatchers("/api/problems/**").permitAll()
                 .requestMatchers("/api/code/**").permitAll()
                 .requestMatchers("/api/rooms/**").permitAll() // Allow room endpoints
+                .requestMatchers("/ws/**").permitAll() // STOMP endpoint for room events
                 .requestMatchers("/login/oauth2/**").permitAll()
                 .requestMatchers("/oauth2/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Prometheus scrapes without a token
                 .anyRequest().authenticated()
             )
             .oauth2Login(oauth2 -> oauth2
                 .defaultSuccessUrl("/api/auth/google/success", true)
                 .failureUrl("http://localhost:3001/auth/error?message=OAuth2 authentication failed")
             )
-            .headers(headers -> headers.frameOptions().disable());
+            .headers(headers -> headers.frameOptions().disable())
+            // Not a bean on purpose, Boot would register it a second time as a servlet filter
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, userCache, principalCacheSize),
+                             UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        // Existing hashes with a lower cost are rehashed on their next successful login
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.codecollab.v1.config;
+
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.service.CollaborationService;
+import com.codecollab.v1.service.LiveRoomRegistry;
+import com.codecollab.v1.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Guards the STOMP inbound channel.
+ *
+ * CONNECT is authenticated once with the same JWT the REST API uses. SUBSCRIBE
+ * takes literal destinations only, since the simple broker would treat a pattern
+ * like /topic/rooms/** as a wildcard over every room and every personal buffer. Anything under
+ * /topic/rooms/{roomCode} needs a seat in that room (joined or disconnected), and
+ * personal editor buffers (/documents/{username}) are only visible to their owner.
+ */
+public class StompChannelInterceptor implements ChannelInterceptor {
+
+    private static final String ROOM_TOPIC = "/topic/rooms/";
+    private static final String DOCUMENTS = "/documents/";
+    // Ant pattern syntax the broker's AntPathMatcher would expand
+    private static final Pattern PATTERN_CHARS = Pattern.compile("[*?{}]");
+
+    private final JwtUtil jwtUtil;
+    private final LiveRoomRegistry liveRoomRegistry;
+    private final RoomMemberRepository roomMemberRepository;
+
+    public StompChannelInterceptor(JwtUtil jwtUtil, LiveRoomRegistry liveRoomRegistry,
+                                   RoomMemberRepository roomMemberRepository) {
+        this.jwtUtil = jwtUtil;
+        this.liveRoomRegistry = liveRoomRegistry;
+        this.roomMemberRepository = roomMemberRepository;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken(authenticate(accessor), null, List.of()));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String username = accessor.getUser() != null ? accessor.getUser().getName() : null;
+            checkSubscription(accessor.getDestination(), username);
+        }
+        return message;
+    }
+
+    private String authenticate(StompHeaderAccessor accessor) {
+        String token = accessor.getFirstNativeHeader("Authorization");
+        String jwt = token != null ? token.replace("Bearer ", "") : null;
+        String username;
+        try {
+            username = jwt != null ? jwtUtil.parseClaims(jwt).getSubject() : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            username = null;
+        }
+        if (username == null) {
+            throw new MessagingException("Unauthorized");
+        }
+        return username;
+    }
+
+    void checkSubscription(String destination, String username) {
+        if (destination == null || username == null || PATTERN_CHARS.matcher(destination).find()) {
+            throw new MessagingException("Forbidden");
+        }
+        if (!destination.startsWith(ROOM_TOPIC)) {
+            return;
+        }
+
+        String rest = destination.substring(ROOM_TOPIC.length());
+        int slash = rest.indexOf('/');
+        String roomCode = slash >= 0 ? rest.substring(0, slash) : rest;
+        if (roomCode.isEmpty() || !isSeated(roomCode, username)) {
+            throw new MessagingException("Forbidden");
+        }
+
+        String path = slash >= 0 ? rest.substring(slash) : "";
+        if (path.startsWith(DOCUMENTS)) {
+            String docId = path.substring(DOCUMENTS.length());
+            if (!CollaborationService.SHARED_DOCUMENT.equals(docId) && !docId.equals(username)) {
+                throw new MessagingException("Forbidden");
+            }
+        }
+    }
+
+    // Rooms with a round running are answered from memory, waiting rooms from room_members
+    private boolean isSeated(String roomCode, String username) {
+        if (liveRoomRegistry.get(roomCode).map(live -> live.memberId(username).isPresent()).orElse(false)) {
+            return true;
+        }
+        return roomMemberRepository.existsSeat(roomCode, username,
+            List.of(RoomMember.MemberStatus.JOINED, RoomMember.MemberStatus.DISCONNECTED));
+    }
+}
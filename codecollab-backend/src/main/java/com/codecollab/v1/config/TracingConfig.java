@@ -0,0 +1,27 @@
+package com.codecollab.v1.config;
+
+import com.codecollab.v1.service.ExecutionTracing;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    // Spans as OTLP JSON lines on the exporter's logger, which logback-spring.xml writes to tracing.file.path.
+    // Works offline; management.otlp.tracing.endpoint adds Boot's OTLP exporter next to it
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true", matchIfMissing = true)
+    public SpanExporter fileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    // The execution spans are observations too, without this each one would also register timers
+    @Bean
+    public MeterFilter dropExecutionSpanMeters() {
+        return MeterFilter.denyNameStartsWith(ExecutionTracing.SPAN_PREFIX);
+    }
+}
@@ -8,9 +8,10 @@ import org.springframework.web.reactive.function.client.ExchangeStrategies;
 @Configuration
 public class WebClientConfig {
 
+    // Built from Boot's instrumented builder so calls are traced
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder()
+    public WebClient webClient(WebClient.Builder builder) {
+        return builder
             .baseUrl("http://localhost:2358")
             .exchangeStrategies(ExchangeStrategies.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
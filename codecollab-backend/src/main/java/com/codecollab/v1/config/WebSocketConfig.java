@@ -0,0 +1,49 @@
+package com.codecollab.v1.config;
+
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.service.LiveRoomRegistry;
+import com.codecollab.v1.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Value("${spring.websocket.allowed-origins}")
+    private String[] allowedOrigins;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private LiveRoomRegistry liveRoomRegistry;
+
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Tomcat negotiates permessage-deflate when the client offers it, so batched
+        // editor operations are compressed on the wire without extra work here
+        registry.addEndpoint("/ws").setAllowedOrigins(allowedOrigins);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        // Room events are published to /topic/rooms/{roomCode}, per-user errors to /user/queue/errors
+        registry.enableSimpleBroker("/topic", "/queue");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new StompChannelInterceptor(jwtUtil, liveRoomRegistry, roomMemberRepository));
+    }
+}
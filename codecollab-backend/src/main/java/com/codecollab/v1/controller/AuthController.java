@@ -5,11 +5,14 @@ import com.codecollab.v1.dto.AuthResponse;
 import com.codecollab.v1.entity.User;
 import com.codecollab.v1.service.UserService;
 import com.codecollab.v1.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
@@ -19,6 +22,8 @@ import java.io.IOException;
 @CrossOrigin(origins = "http://localhost:3001")
 public class AuthController {
     
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+    
     @Autowired
     private UserService userService;
     
@@ -26,15 +31,19 @@ public class AuthController {
     private JwtUtil jwtUtil;
     
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody AuthRequest request) {
+    public ResponseEntity<AuthResponse> register(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
         try {
-            AuthResponse response = userService.register(request);
+            AuthResponse response = userService.register(request, httpRequest.getRemoteAddr());
             
             if (response.getToken() != null) {
                 return ResponseEntity.ok(response);
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (ResponseStatusException e) {
+            // Throttled or hashing pool saturated
+            return ResponseEntity.status(e.getStatusCode())
+                .body(new AuthResponse(null, null, e.getReason()));
         } catch (Exception e) {
             return ResponseEntity.status(500)
                 .body(new AuthResponse(null, null, "Registration failed: " + e.getMessage()));
@@ -42,15 +51,18 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
+    public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
         try {
-            AuthResponse response = userService.login(request);
+            AuthResponse response = userService.login(request, httpRequest.getRemoteAddr());
             
             if (response.getToken() != null) {
                 return ResponseEntity.ok(response);
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                .body(new AuthResponse(null, null, e.getReason()));
         } catch (Exception e) {
             return ResponseEntity.status(500)
                 .body(new AuthResponse(null, null, "Login failed: " + e.getMessage()));
@@ -63,11 +75,9 @@ public class AuthController {
                                    HttpServletResponse response,
                                    HttpServletRequest request) throws IOException {
         try {
-            System.out.println("OAuth2 success handler called");
-            
             // Check if OAuth2User is present
             if (oauth2User == null) {
-                System.err.println("OAuth2User is null - authentication context lost");
+                log.warn("OAuth2 success without an OAuth2User, authentication context lost");
                 response.sendRedirect("http://localhost:3001/auth/error?message=Authentication context lost");
                 return;
             }
@@ -77,10 +87,8 @@ public class AuthController {
             String name = oauth2User.getAttribute("name");
             String givenName = oauth2User.getAttribute("given_name");
             
-            System.out.println("OAuth2 User - Email: " + email + ", Name: " + name);
-            
             if (email == null) {
-                System.err.println("Email not provided by Google");
+                log.warn("Google did not provide an email for the OAuth2 login");
                 response.sendRedirect("http://localhost:3001/auth/error?message=Email not provided by Google");
                 return;
             }
@@ -91,40 +99,25 @@ public class AuthController {
             // Generate JWT token
             String token = jwtUtil.generateToken(user.getUsername());
             
-            System.out.println("Generated token for user: " + user.getUsername());
-            
             // Redirect to frontend with token
             String redirectUrl = String.format("http://localhost:3001/auth/success?token=%s&user=%s", 
                                               token, user.getUsername());
             
-            System.out.println("Redirecting to: " + redirectUrl);
+            log.info("OAuth2 login for {}", user.getUsername());
             response.sendRedirect(redirectUrl);
             
         } catch (Exception e) {
-            System.err.println("OAuth2 success handling error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("OAuth2 success handling failed", e);
             response.sendRedirect("http://localhost:3001/auth/error?message=Authentication processing failed");
         }
     }
     
     @GetMapping("/me")
-    public ResponseEntity<User> getCurrentUser(@RequestHeader("Authorization") String token) {
-        try {
-            String jwt = token.replace("Bearer ", "");
-            
-            if (jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
-                return userService.findByUsername(username)
-                    .map(user -> {
-                        user.setPasswordHash(null); // Don't return password
-                        return ResponseEntity.ok(user);
-                    })
-                    .orElse(ResponseEntity.notFound().build());
-            } else {
-                return ResponseEntity.status(401).build();
-            }
-        } catch (Exception e) {
+    public ResponseEntity<User> getCurrentUser(@AuthenticationPrincipal User user) {
+        // Authenticated by JwtAuthenticationFilter, the password hash is never serialized
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
+        return ResponseEntity.ok(user);
     }
 }
\ No newline at end of file
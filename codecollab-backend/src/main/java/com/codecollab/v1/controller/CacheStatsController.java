@@ -0,0 +1,20 @@
+package com.codecollab.v1.controller;
+
+import com.codecollab.v1.service.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@CrossOrigin(origins = "http://localhost:3001")
+public class CacheStatsController {
+    
+    @Autowired
+    private CacheStatsService cacheStatsService;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.regionStats());
+    }
+}
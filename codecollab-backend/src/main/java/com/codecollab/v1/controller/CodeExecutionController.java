@@ -5,6 +5,8 @@ import com.codecollab.v1.dto.ExecutionResult;
 import com.codecollab.v1.entity.TestCase;
 import com.codecollab.v1.service.CodeExecutionService;
 import com.codecollab.v1.service.ProblemService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,8 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3001")
 public class CodeExecutionController {
     
+    private static final Logger log = LoggerFactory.getLogger(CodeExecutionController.class);
+    
     @Autowired
     private CodeExecutionService executionService;
     
@@ -31,12 +35,11 @@ public class CodeExecutionController {
                 return ResponseEntity.badRequest().body(result);
             }
             
-            System.out.println("Testing code for problem: " + request.getProblemId());
-            System.out.println("Language: " + request.getLanguage());
-            System.out.println("Code length: " + request.getCode().length());
+            log.debug("Test run for problem {} in {}, {} chars", request.getProblemId(), request.getLanguage(),
+                      request.getCode().length());
             
             // Check if problem exists
-            if (!problemService.getProblemById(request.getProblemId()).isPresent()) {
+            if (!problemService.problemExists(request.getProblemId())) {
                 ExecutionResult result = new ExecutionResult("ERROR", "Problem not found");
                 return ResponseEntity.notFound().build();
             }
@@ -58,8 +61,7 @@ public class CodeExecutionController {
             return ResponseEntity.ok(result);
             
         } catch (Exception e) {
-            System.err.println("Test endpoint error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Test endpoint error", e);
             ExecutionResult errorResult = new ExecutionResult("ERROR", "Test failed: " + e.getMessage());
             return ResponseEntity.status(500).body(errorResult);
         }
@@ -74,11 +76,10 @@ public class CodeExecutionController {
                 return ResponseEntity.badRequest().body(result);
             }
             
-            System.out.println("Submitting code for problem: " + request.getProblemId());
-            System.out.println("Language: " + request.getLanguage());
+            log.debug("Submission for problem {} in {}", request.getProblemId(), request.getLanguage());
             
             // Check if problem exists
-            if (!problemService.getProblemById(request.getProblemId()).isPresent()) {
+            if (!problemService.problemExists(request.getProblemId())) {
                 ExecutionResult result = new ExecutionResult("ERROR", "Problem not found");
                 return ResponseEntity.notFound().build();
             }
@@ -100,8 +101,7 @@ public class CodeExecutionController {
             return ResponseEntity.ok(result);
             
         } catch (Exception e) {
-            System.err.println("Submit endpoint error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Submit endpoint error", e);
             ExecutionResult errorResult = new ExecutionResult("ERROR", "Submission failed: " + e.getMessage());
             return ResponseEntity.status(500).body(errorResult);
         }
@@ -0,0 +1,38 @@
+package com.codecollab.v1.controller;
+
+import com.codecollab.v1.dto.DocumentOperation;
+import com.codecollab.v1.service.CollaborationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+@Controller
+public class CollaborationController {
+    
+    @Autowired
+    private CollaborationService collaborationService;
+    
+    // Clients send to /app/rooms/{roomCode}/documents/{docId} and receive batched
+    // operations (including their own, as the ack) on /topic/rooms/{roomCode}/documents/{docId}
+    @MessageMapping("/rooms/{roomCode}/documents/{docId}")
+    public void receiveOperation(@DestinationVariable String roomCode,
+                                 @DestinationVariable String docId,
+                                 DocumentOperation operation,
+                                 Principal principal) throws Exception {
+        if (principal == null) {
+            throw new Exception("Unauthorized");
+        }
+        collaborationService.receive(roomCode, docId, principal.getName(), operation);
+    }
+    
+    @MessageExceptionHandler
+    @SendToUser("/queue/errors")
+    public String handleException(Exception e) {
+        return e.getMessage();
+    }
+}
@@ -1,9 +1,15 @@
 package com.codecollab.v1.controller;
 
+import com.codecollab.v1.dto.ProblemSearchResponse;
+import com.codecollab.v1.dto.ProblemSummary;
+import com.codecollab.v1.dto.TestCaseContent;
 import com.codecollab.v1.entity.Problem;
-import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.service.ProblemCatalog;
 import com.codecollab.v1.service.ProblemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,10 +24,27 @@ public class ProblemController {
     @Autowired
     private ProblemService problemService;
     
+    // List endpoints are served from the in-memory catalog and revalidated with its ETag
     @GetMapping
-    public ResponseEntity<List<Problem>> getAllProblems() {
-        List<Problem> problems = problemService.getAllProblems();
-        return ResponseEntity.ok(problems);
+    public ResponseEntity<List<ProblemSummary>> getAllProblems(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProblemCatalog.Snapshot catalog = problemService.getCatalog();
+        return catalogResponse(catalog, catalog.all(), ifNoneMatch);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<ProblemSearchResponse> searchProblems(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(required = false) Problem.Difficulty difficulty,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(problemService.searchProblems(query, difficulty, category, limit));
+    }
+    
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestSearchTerms(@RequestParam String prefix,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(problemService.suggestSearchTerms(prefix, limit));
     }
     
     @GetMapping("/{id}")
@@ -32,26 +55,40 @@ public class ProblemController {
     }
     
     @GetMapping("/difficulty/{difficulty}")
-    public ResponseEntity<List<Problem>> getProblemsByDifficulty(@PathVariable Problem.Difficulty difficulty) {
-        List<Problem> problems = problemService.getProblemsByDifficulty(difficulty);
-        return ResponseEntity.ok(problems);
+    public ResponseEntity<List<ProblemSummary>> getProblemsByDifficulty(@PathVariable Problem.Difficulty difficulty,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProblemCatalog.Snapshot catalog = problemService.getCatalog();
+        return catalogResponse(catalog, catalog.withDifficulty(difficulty), ifNoneMatch);
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Problem>> getProblemsByCategory(@PathVariable String category) {
-        List<Problem> problems = problemService.getProblemsByCategory(category);
-        return ResponseEntity.ok(problems);
+    public ResponseEntity<List<ProblemSummary>> getProblemsByCategory(@PathVariable String category,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProblemCatalog.Snapshot catalog = problemService.getCatalog();
+        return catalogResponse(catalog, catalog.inCategory(category), ifNoneMatch);
     }
     
     @GetMapping("/{id}/testcases")
-    public ResponseEntity<List<TestCase>> getTestCases(@PathVariable Long id) {
-        List<TestCase> testCases = problemService.getTestCases(id);
+    public ResponseEntity<List<TestCaseContent>> getTestCases(@PathVariable Long id) {
+        List<TestCaseContent> testCases = problemService.getTestCaseContents(id);
         return ResponseEntity.ok(testCases);
     }
     
     @GetMapping("/{id}/sample-testcases")
-    public ResponseEntity<List<TestCase>> getSampleTestCases(@PathVariable Long id) {
-        List<TestCase> testCases = problemService.getSampleTestCases(id);
+    public ResponseEntity<List<TestCaseContent>> getSampleTestCases(@PathVariable Long id) {
+        List<TestCaseContent> testCases = problemService.getSampleTestCaseContents(id);
         return ResponseEntity.ok(testCases);
     }
+    
+    private ResponseEntity<List<ProblemSummary>> catalogResponse(ProblemCatalog.Snapshot catalog,
+                                                                 List<ProblemSummary> problems, String ifNoneMatch) {
+        // Also matches weak (W/) and multi-value If-None-Match headers
+        if (ifNoneMatch != null && ifNoneMatch.contains(catalog.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.etag()).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(catalog.etag())
+            .cacheControl(CacheControl.noCache())
+            .body(problems);
+    }
 }
\ No newline at end of file
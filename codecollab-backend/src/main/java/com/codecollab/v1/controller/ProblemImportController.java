@@ -0,0 +1,40 @@
+package com.codecollab.v1.controller;
+
+import com.codecollab.v1.dto.ImportReport;
+import com.codecollab.v1.service.ProblemImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/problems")
+@CrossOrigin(origins = "http://localhost:3001")
+public class ProblemImportController {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProblemImportController.class);
+    
+    @Autowired
+    private ProblemImportService problemImportService;
+    
+    @Value("${problems.import.enabled:false}")
+    private boolean importEnabled;
+    
+    // Body is the raw zip (application/zip), read as a stream rather than a buffered multipart upload
+    @PostMapping(value = "/import", consumes = {"application/zip", "application/octet-stream"})
+    public ResponseEntity<?> importProblems(HttpServletRequest request) {
+        if (!importEnabled) {
+            return ResponseEntity.status(403).body("Problem import is disabled");
+        }
+        try {
+            ImportReport report = problemImportService.importArchive(request.getInputStream());
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            log.warn("Problem import failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Import failed: " + e.getMessage());
+        }
+    }
+}
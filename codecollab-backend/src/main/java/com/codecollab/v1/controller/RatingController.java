@@ -0,0 +1,36 @@
+package com.codecollab.v1.controller;
+
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.service.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/ratings")
+@CrossOrigin(origins = "http://localhost:3001")
+public class RatingController {
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    @Autowired
+    private RatingService ratingService;
+    
+    @GetMapping("/top")
+    public ResponseEntity<?> getTopPlayers(@RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(ratingService.top(page, size));
+    }
+    
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyStanding(@AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity.status(401).body("Unauthorized");
+        }
+        return ResponseEntity.ok(ratingService.standing(user));
+    }
+}
@@ -2,13 +2,19 @@ package com.codecollab.v1.controller;
 
 import com.codecollab.v1.dto.*;
 import com.codecollab.v1.entity.Room;
-import com.codecollab.v1.entity.RoomMember;
 import com.codecollab.v1.entity.User;
+import com.codecollab.v1.service.CollaborationService;
+import com.codecollab.v1.service.LeaderboardService;
+import com.codecollab.v1.service.PresenceService;
+import com.codecollab.v1.service.RoomDraftService;
 import com.codecollab.v1.service.RoomService;
-import com.codecollab.v1.service.UserService;
-import com.codecollab.v1.util.JwtUtil;
+import com.codecollab.v1.service.RoomSubmissionService;
+import com.codecollab.v1.service.RoundService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,20 +26,33 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:3001")
 public class RoomController {
     
+    private static final Logger log = LoggerFactory.getLogger(RoomController.class);
+    
     @Autowired
     private RoomService roomService;
     
     @Autowired
-    private UserService userService;
+    private RoomDraftService draftService;
+    
+    @Autowired
+    private CollaborationService collaborationService;
+    
+    @Autowired
+    private PresenceService presenceService;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private RoundService roundService;
+    
+    @Autowired
+    private RoomSubmissionService roomSubmissionService;
     
     @PostMapping("/create")
     public ResponseEntity<?> createRoom(@RequestBody CreateRoomRequest request,
-                                       @RequestHeader("Authorization") String token) {
+                                       @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) {
                 return ResponseEntity.status(401).body("Unauthorized");
             }
@@ -50,10 +69,7 @@ public class RoomController {
             }
             
             // Get room members for response
-            List<RoomMember> members = roomService.getRoomMembers(room);
-            List<RoomMemberInfo> memberInfos = members.stream()
-                    .map(RoomMemberInfo::fromRoomMember)
-                    .collect(Collectors.toList());
+            List<RoomMemberInfo> memberInfos = memberInfos(room);
             
             RoomResponse response = RoomResponse.fromRoom(room, memberInfos);
             return ResponseEntity.ok(response);
@@ -65,9 +81,8 @@ public class RoomController {
     
     @PostMapping("/join")
     public ResponseEntity<?> joinRoom(@RequestBody JoinRoomRequest request,
-                                     @RequestHeader("Authorization") String token) {
+                                     @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) {
                 return ResponseEntity.status(401).body("Unauthorized");
             }
@@ -75,10 +90,7 @@ public class RoomController {
             Room room = roomService.joinRoom(request.getRoomCode(), user);
             
             // Get updated room members
-            List<RoomMember> members = roomService.getRoomMembers(room);
-            List<RoomMemberInfo> memberInfos = members.stream()
-                    .map(RoomMemberInfo::fromRoomMember)
-                    .collect(Collectors.toList());
+            List<RoomMemberInfo> memberInfos = memberInfos(room);
             
             RoomResponse response = RoomResponse.fromRoom(room, memberInfos);
             return ResponseEntity.ok(response);
@@ -90,9 +102,8 @@ public class RoomController {
     
     @PostMapping("/leave/{roomCode}")
     public ResponseEntity<?> leaveRoom(@PathVariable String roomCode,
-                                      @RequestHeader("Authorization") String token) {
+                                      @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) {
                 return ResponseEntity.status(401).body("Unauthorized");
             }
@@ -103,6 +114,7 @@ public class RoomController {
             }
             
             roomService.leaveRoom(roomOpt.get(), user);
+            presenceService.forget(roomCode, user.getUsername());
             return ResponseEntity.ok("Left room successfully");
             
         } catch (Exception e) {
@@ -112,9 +124,8 @@ public class RoomController {
     
     @GetMapping("/{roomCode}")
     public ResponseEntity<?> getRoomDetails(@PathVariable String roomCode,
-                                           @RequestHeader("Authorization") String token) {
+                                           @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) {
                 return ResponseEntity.status(401).body("Unauthorized");
             }
@@ -131,10 +142,7 @@ public class RoomController {
                 return ResponseEntity.status(403).body("You are not a member of this room");
             }
             
-            List<RoomMember> members = roomService.getRoomMembers(room);
-            List<RoomMemberInfo> memberInfos = members.stream()
-                    .map(RoomMemberInfo::fromRoomMember)
-                    .collect(Collectors.toList());
+            List<RoomMemberInfo> memberInfos = memberInfos(room);
             
             RoomResponse response = RoomResponse.fromRoom(room, memberInfos);
             return ResponseEntity.ok(response);
@@ -145,9 +153,8 @@ public class RoomController {
     }
     
     @GetMapping("/my-rooms")
-    public ResponseEntity<?> getMyRooms(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getMyRooms(@AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) {
                 return ResponseEntity.status(401).body("Unauthorized");
             }
@@ -155,10 +162,7 @@ public class RoomController {
             List<Room> rooms = roomService.getActiveRoomsByUser(user);
             List<RoomResponse> responses = rooms.stream()
                     .map(room -> {
-                        List<RoomMember> members = roomService.getRoomMembers(room);
-                        List<RoomMemberInfo> memberInfos = members.stream()
-                                .map(RoomMemberInfo::fromRoomMember)
-                                .collect(Collectors.toList());
+                        List<RoomMemberInfo> memberInfos = memberInfos(room);
                         return RoomResponse.fromRoom(room, memberInfos);
                     })
                     .collect(Collectors.toList());
@@ -173,9 +177,8 @@ public class RoomController {
     @PostMapping("/{roomCode}/start")
     public ResponseEntity<?> startSession(@PathVariable String roomCode,
                                          @RequestBody StartSessionRequest request,
-                                         @RequestHeader("Authorization") String token) {
+                                         @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) {
                 return ResponseEntity.status(401).body("Unauthorized");
             }
@@ -183,10 +186,7 @@ public class RoomController {
             Room room = roomService.startSession(roomCode, request.getProblemId(), user, request.getTimeLimit());
             
             // Get updated room members
-            List<RoomMember> members = roomService.getRoomMembers(room);
-            List<RoomMemberInfo> memberInfos = members.stream()
-                    .map(RoomMemberInfo::fromRoomMember)
-                    .collect(Collectors.toList());
+            List<RoomMemberInfo> memberInfos = memberInfos(room);
             
             RoomSessionResponse response = RoomSessionResponse.fromRoom(room, memberInfos);
             return ResponseEntity.ok(response);
@@ -198,57 +198,43 @@ public class RoomController {
     
     @GetMapping("/{roomCode}/session")
     public ResponseEntity<?> getCurrentSession(@PathVariable String roomCode,
-                                              @RequestHeader("Authorization") String token) {
+                                              @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) {
-                System.err.println("Unauthorized access attempt to session");
+                log.debug("Unauthenticated session poll for room {}", roomCode);
                 return ResponseEntity.status(401).body("Unauthorized");
             }
             
-            System.out.println("Session request from: " + user.getUsername() + " for room: " + roomCode);
-            
             // Get the complete session data
             Room room = roomService.getCurrentSession(roomCode, user);
             
-            // Log the current state
-            System.out.println("Room found - Status: " + room.getStatus());
-            System.out.println("Current Problem: " + 
-                              (room.getCurrentProblem() != null ? room.getCurrentProblem().getTitle() : "NULL"));
+            // Session polls double as presence heartbeats
+            presenceService.heartbeat(roomCode, user);
             
             // Get all active members
-            List<RoomMember> members = roomService.getRoomMembers(room);
-            List<RoomMemberInfo> memberInfos = members.stream()
-                .map(RoomMemberInfo::fromRoomMember)
-                .collect(Collectors.toList());
+            List<RoomMemberInfo> memberInfos = memberInfos(room);
             
             // Create response with complete data
             RoomSessionResponse response = RoomSessionResponse.fromRoom(room, memberInfos);
             
             // Verify response has problem data
             if (response.getProblem() == null && room.getStatus() == Room.RoomStatus.ACTIVE) {
-                System.err.println("WARNING: Active session but no problem in response for user: " + 
-                                  user.getUsername());
+                log.warn("Active session in room {} but no problem in the response for {}", roomCode,
+                         user.getUsername());
             }
             
-            System.out.println("Sending session response to " + user.getUsername() + 
-                              " with problem: " + (response.getProblem() != null ? 
-                              response.getProblem().getTitle() : "NULL"));
-            
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("Error getting session for user: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Session poll for room {} failed: {}", roomCode, e.getMessage());
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
     
     @PostMapping("/{roomCode}/end")
     public ResponseEntity<?> endSession(@PathVariable String roomCode,
-                                       @RequestHeader("Authorization") String token) {
+                                       @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) {
                 return ResponseEntity.status(401).body("Unauthorized");
             }
@@ -261,25 +247,11 @@ public class RoomController {
         }
     }
     
-    private User getUserFromToken(String token) {
-        try {
-            String jwt = token.replace("Bearer ", "");
-            if (jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
-                return userService.findByUsername(username).orElse(null);
-            }
-        } catch (Exception e) {
-            System.err.println("Token validation error: " + e.getMessage());
-        }
-        return null;
-    }
-    
     
     @PostMapping("/{roomCode}/pause")
     public ResponseEntity<?> pauseSession(@PathVariable String roomCode,
-                                         @RequestHeader("Authorization") String token) {
+                                         @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) return ResponseEntity.status(401).body("Unauthorized");
             Room room = roomService.pauseSession(roomCode, user);
             return ResponseEntity.ok(RoomResponse.fromRoom(room, memberInfos(room)));
@@ -291,9 +263,8 @@ public class RoomController {
     @PostMapping("/{roomCode}/resume")
     public ResponseEntity<?> resumeSession(@PathVariable String roomCode,
                                            @RequestBody StartSessionRequest request,
-                                           @RequestHeader("Authorization") String token) {
+                                           @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) return ResponseEntity.status(401).body("Unauthorized");
             Room room = roomService.resumeSession(roomCode, request.getProblemId(), user);
             return ResponseEntity.ok(RoomResponse.fromRoom(room, memberInfos(room)));
@@ -304,9 +275,8 @@ public class RoomController {
 
     @PostMapping("/{roomCode}/discussion")
     public ResponseEntity<?> startDiscussion(@PathVariable String roomCode,
-                                             @RequestHeader("Authorization") String token) {
+                                             @AuthenticationPrincipal User user) {
         try {
-            User user = getUserFromToken(token);
             if (user == null) return ResponseEntity.status(401).body("Unauthorized");
             Room room = roomService.startDiscussion(roomCode, user);
             return ResponseEntity.ok(RoomResponse.fromRoom(room, memberInfos(room)));
@@ -315,10 +285,79 @@ public class RoomController {
         }
     }
 
+    @PostMapping("/{roomCode}/heartbeat")
+    public ResponseEntity<?> heartbeat(@PathVariable String roomCode,
+                                       @AuthenticationPrincipal User user) {
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        presenceService.heartbeat(roomCode, user);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{roomCode}/submit")
+    public ResponseEntity<?> submitCode(@PathVariable String roomCode,
+                                        @RequestBody RoomCodeSubmissionRequest request,
+                                        @AuthenticationPrincipal User user) {
+        try {
+            if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+            ExecutionResult result = roomSubmissionService.submit(roomCode, user, request.getCode(), request.getLanguage());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{roomCode}/draft")
+    public ResponseEntity<?> saveDraft(@PathVariable String roomCode,
+                                       @RequestBody RoomCodeSubmissionRequest request,
+                                       @AuthenticationPrincipal User user) {
+        try {
+            if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+            Room room = roomService.requireActiveMember(roomCode, user);
+            draftService.saveDraft(room.getRoomCode(), user.getUsername(), request.getCode(), request.getLanguage());
+            return ResponseEntity.ok("Draft saved");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{roomCode}/documents/{docId}")
+    public ResponseEntity<?> syncDocument(@PathVariable String roomCode,
+                                          @PathVariable String docId,
+                                          @RequestParam(required = false) Integer sinceRevision,
+                                          @AuthenticationPrincipal User user) {
+        try {
+            if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+            return ResponseEntity.ok(collaborationService.sync(roomCode, docId, user.getUsername(), sinceRevision));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{roomCode}/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@PathVariable String roomCode,
+                                            @RequestParam(defaultValue = "10") int limit,
+                                            @AuthenticationPrincipal User user) {
+        try {
+            if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+            return ResponseEntity.ok(leaderboardService.top(roomCode, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{roomCode}/rounds")
+    public ResponseEntity<?> getRoundHistory(@PathVariable String roomCode,
+                                             @AuthenticationPrincipal User user) {
+        try {
+            if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+            return ResponseEntity.ok(roundService.getRoundHistory(roomCode));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     private List<RoomMemberInfo> memberInfos(Room room) {
-        return roomService.getRoomMembers(room).stream()
-            .map(RoomMemberInfo::fromRoomMember)
-            .collect(Collectors.toList());
+        return roomService.getRoomMemberInfos(room);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+// CacheRegionStats.java
+package com.codecollab.v1.dto;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+public class CacheRegionStats {
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRatio;
+    
+    // Constructors
+    public CacheRegionStats() {}
+    
+    public CacheRegionStats(String region, long hitCount, long missCount, long putCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        long reads = hitCount + missCount;
+        this.hitRatio = reads == 0 ? 0.0 : (double) hitCount / reads;
+    }
+    
+    // Factory method
+    public static CacheRegionStats fromStatistics(String region, CacheRegionStatistics statistics) {
+        return new CacheRegionStats(region, statistics.getHitCount(), statistics.getMissCount(),
+                                    statistics.getPutCount());
+    }
+    
+    // Getters and Setters
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+    
+    public long getHitCount() { return hitCount; }
+    public void setHitCount(long hitCount) { this.hitCount = hitCount; }
+    
+    public long getMissCount() { return missCount; }
+    public void setMissCount(long missCount) { this.missCount = missCount; }
+    
+    public long getPutCount() { return putCount; }
+    public void setPutCount(long putCount) { this.putCount = putCount; }
+    
+    public double getHitRatio() { return hitRatio; }
+    public void setHitRatio(double hitRatio) { this.hitRatio = hitRatio; }
+}
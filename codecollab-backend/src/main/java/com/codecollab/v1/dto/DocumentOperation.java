@@ -0,0 +1,38 @@
+// DocumentOperation.java
+package com.codecollab.v1.dto;
+
+import java.util.List;
+
+public class DocumentOperation {
+    private int revision;      // document revision the operation produced (client to server: revision it was based on)
+    private String author;
+    private long clientSeq;    // lets the author recognise its own acknowledged operations
+    private List<Object> ops;  // ot.js format: retain > 0, delete < 0, insert = string
+    private String language;   // optional, editor language of the document
+    
+    // Constructors
+    public DocumentOperation() {}
+    
+    public DocumentOperation(int revision, String author, long clientSeq, List<Object> ops) {
+        this.revision = revision;
+        this.author = author;
+        this.clientSeq = clientSeq;
+        this.ops = ops;
+    }
+    
+    // Getters and Setters
+    public int getRevision() { return revision; }
+    public void setRevision(int revision) { this.revision = revision; }
+    
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+    
+    public long getClientSeq() { return clientSeq; }
+    public void setClientSeq(long clientSeq) { this.clientSeq = clientSeq; }
+    
+    public List<Object> getOps() { return ops; }
+    public void setOps(List<Object> ops) { this.ops = ops; }
+    
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+}
@@ -0,0 +1,35 @@
+// DocumentSyncResponse.java
+package com.codecollab.v1.dto;
+
+import java.util.List;
+
+public class DocumentSyncResponse {
+    private String docId;
+    private String language;
+    private Integer snapshotRevision; // null when the client only needs the ops after its own revision
+    private String snapshotText;
+    private int revision;
+    private List<DocumentOperation> operations;
+    
+    // Constructors
+    public DocumentSyncResponse() {}
+    
+    // Getters and Setters
+    public String getDocId() { return docId; }
+    public void setDocId(String docId) { this.docId = docId; }
+    
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+    
+    public Integer getSnapshotRevision() { return snapshotRevision; }
+    public void setSnapshotRevision(Integer snapshotRevision) { this.snapshotRevision = snapshotRevision; }
+    
+    public String getSnapshotText() { return snapshotText; }
+    public void setSnapshotText(String snapshotText) { this.snapshotText = snapshotText; }
+    
+    public int getRevision() { return revision; }
+    public void setRevision(int revision) { this.revision = revision; }
+    
+    public List<DocumentOperation> getOperations() { return operations; }
+    public void setOperations(List<DocumentOperation> operations) { this.operations = operations; }
+}
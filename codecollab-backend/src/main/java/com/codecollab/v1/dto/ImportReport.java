@@ -0,0 +1,51 @@
+// ImportReport.java
+package com.codecollab.v1.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    private static final int MAX_ERRORS = 100;
+    
+    private int problemsImported;
+    private int testCasesImported;
+    private int problemsSkipped;
+    private List<String> errors = new ArrayList<>();
+    private long durationMs;
+    
+    // Constructors
+    public ImportReport() {}
+    
+    public void addImported(int problems, int testCases) {
+        problemsImported += problems;
+        testCasesImported += testCases;
+    }
+    
+    public void skip(String problem, String reason) {
+        problemsSkipped++;
+        error(problem + ": " + reason);
+    }
+    
+    // Only the first errors are kept, a bad archive can produce thousands
+    public void error(String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+    
+    // Getters and Setters
+    public int getProblemsImported() { return problemsImported; }
+    public void setProblemsImported(int problemsImported) { this.problemsImported = problemsImported; }
+    
+    public int getTestCasesImported() { return testCasesImported; }
+    public void setTestCasesImported(int testCasesImported) { this.testCasesImported = testCasesImported; }
+    
+    public int getProblemsSkipped() { return problemsSkipped; }
+    public void setProblemsSkipped(int problemsSkipped) { this.problemsSkipped = problemsSkipped; }
+    
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+    
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
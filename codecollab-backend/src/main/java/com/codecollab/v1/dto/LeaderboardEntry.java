@@ -0,0 +1,37 @@
+// LeaderboardEntry.java
+package com.codecollab.v1.dto;
+
+import com.codecollab.v1.util.LeaderboardIndex;
+
+public class LeaderboardEntry {
+    private String username;
+    private Integer score;
+    private Long penaltySeconds;
+    private Integer rank;
+    
+    // Constructors
+    public LeaderboardEntry() {}
+    
+    // Factory method
+    public static LeaderboardEntry fromRank(LeaderboardIndex.Rank rank) {
+        LeaderboardEntry entry = new LeaderboardEntry();
+        entry.setUsername(rank.key());
+        entry.setScore(rank.score());
+        entry.setPenaltySeconds(rank.penalty());
+        entry.setRank(rank.rank());
+        return entry;
+    }
+    
+    // Getters and Setters
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+    
+    public Long getPenaltySeconds() { return penaltySeconds; }
+    public void setPenaltySeconds(Long penaltySeconds) { this.penaltySeconds = penaltySeconds; }
+    
+    public Integer getRank() { return rank; }
+    public void setRank(Integer rank) { this.rank = rank; }
+}
@@ -0,0 +1,87 @@
+// ProblemDefinition.java
+package com.codecollab.v1.dto;
+
+import com.codecollab.v1.entity.Problem;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// problem.json inside an import archive
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProblemDefinition {
+    private String title;
+    private String difficulty;
+    private String category;
+    private String description;
+    private String inputFormat;
+    private String outputFormat;
+    private String constraints;
+    private Integer timeLimitMs;
+    private Integer memoryLimitMb;
+    private String sampleInput;
+    private String sampleOutput;
+    private String explanation;
+    private Integer points;
+    
+    // Constructors
+    public ProblemDefinition() {}
+    
+    public Problem toProblem() {
+        Problem problem = new Problem();
+        problem.setTitle(title.trim());
+        problem.setDifficulty(Problem.Difficulty.valueOf(difficulty.trim().toUpperCase()));
+        problem.setCategory(category.trim().toUpperCase());
+        problem.setDescription(description);
+        problem.setInputFormat(inputFormat);
+        problem.setOutputFormat(outputFormat);
+        problem.setConstraints(constraints);
+        if (timeLimitMs != null) {
+            problem.setTimeLimitMs(timeLimitMs);
+        }
+        if (memoryLimitMb != null) {
+            problem.setMemoryLimitMb(memoryLimitMb);
+        }
+        problem.setSampleInput(sampleInput);
+        problem.setSampleOutput(sampleOutput);
+        problem.setExplanation(explanation);
+        return problem;
+    }
+    
+    // Getters and Setters
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getDifficulty() { return difficulty; }
+    public void setDifficulty(String difficulty) { this.difficulty = difficulty; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public String getInputFormat() { return inputFormat; }
+    public void setInputFormat(String inputFormat) { this.inputFormat = inputFormat; }
+    
+    public String getOutputFormat() { return outputFormat; }
+    public void setOutputFormat(String outputFormat) { this.outputFormat = outputFormat; }
+    
+    public String getConstraints() { return constraints; }
+    public void setConstraints(String constraints) { this.constraints = constraints; }
+    
+    public Integer getTimeLimitMs() { return timeLimitMs; }
+    public void setTimeLimitMs(Integer timeLimitMs) { this.timeLimitMs = timeLimitMs; }
+    
+    public Integer getMemoryLimitMb() { return memoryLimitMb; }
+    public void setMemoryLimitMb(Integer memoryLimitMb) { this.memoryLimitMb = memoryLimitMb; }
+    
+    public String getSampleInput() { return sampleInput; }
+    public void setSampleInput(String sampleInput) { this.sampleInput = sampleInput; }
+    
+    public String getSampleOutput() { return sampleOutput; }
+    public void setSampleOutput(String sampleOutput) { this.sampleOutput = sampleOutput; }
+    
+    public String getExplanation() { return explanation; }
+    public void setExplanation(String explanation) { this.explanation = explanation; }
+    
+    public Integer getPoints() { return points; }
+    public void setPoints(Integer points) { this.points = points; }
+}
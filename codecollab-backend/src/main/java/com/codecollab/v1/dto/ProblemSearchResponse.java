@@ -0,0 +1,36 @@
+// ProblemSearchResponse.java
+package com.codecollab.v1.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class ProblemSearchResponse {
+    private List<ProblemSummary> problems;
+    private Integer total;
+    private Map<String, Integer> difficultyFacets;
+    private Map<String, Integer> categoryFacets;
+    
+    // Constructors
+    public ProblemSearchResponse() {}
+    
+    public ProblemSearchResponse(List<ProblemSummary> problems, Integer total,
+                                 Map<String, Integer> difficultyFacets, Map<String, Integer> categoryFacets) {
+        this.problems = problems;
+        this.total = total;
+        this.difficultyFacets = difficultyFacets;
+        this.categoryFacets = categoryFacets;
+    }
+    
+    // Getters and Setters
+    public List<ProblemSummary> getProblems() { return problems; }
+    public void setProblems(List<ProblemSummary> problems) { this.problems = problems; }
+    
+    public Integer getTotal() { return total; }
+    public void setTotal(Integer total) { this.total = total; }
+    
+    public Map<String, Integer> getDifficultyFacets() { return difficultyFacets; }
+    public void setDifficultyFacets(Map<String, Integer> difficultyFacets) { this.difficultyFacets = difficultyFacets; }
+    
+    public Map<String, Integer> getCategoryFacets() { return categoryFacets; }
+    public void setCategoryFacets(Map<String, Integer> categoryFacets) { this.categoryFacets = categoryFacets; }
+}
@@ -0,0 +1,52 @@
+// ProblemSummary.java
+package com.codecollab.v1.dto;
+
+import com.codecollab.v1.entity.Problem;
+
+// What the problem list renders, everything else is loaded with /api/problems/{id}
+public class ProblemSummary {
+    private Long id;
+    private String title;
+    private Problem.Difficulty difficulty;
+    private String category;
+    private String description;
+    private Integer timeLimitMs;
+    private Integer memoryLimitMb;
+    
+    // Constructors
+    public ProblemSummary() {}
+    
+    // Used by the JPQL constructor expression in ProblemRepository.findAllSummaries
+    public ProblemSummary(Long id, String title, Problem.Difficulty difficulty, String category,
+                          String description, Integer timeLimitMs, Integer memoryLimitMb) {
+        this.id = id;
+        this.title = title;
+        this.difficulty = difficulty;
+        this.category = category;
+        this.description = description;
+        this.timeLimitMs = timeLimitMs;
+        this.memoryLimitMb = memoryLimitMb;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public Problem.Difficulty getDifficulty() { return difficulty; }
+    public void setDifficulty(Problem.Difficulty difficulty) { this.difficulty = difficulty; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Integer getTimeLimitMs() { return timeLimitMs; }
+    public void setTimeLimitMs(Integer timeLimitMs) { this.timeLimitMs = timeLimitMs; }
+    
+    public Integer getMemoryLimitMb() { return memoryLimitMb; }
+    public void setMemoryLimitMb(Integer memoryLimitMb) { this.memoryLimitMb = memoryLimitMb; }
+}
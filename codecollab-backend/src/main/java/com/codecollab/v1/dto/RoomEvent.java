@@ -0,0 +1,39 @@
+// RoomEvent.java
+package com.codecollab.v1.dto;
+
+import java.time.LocalDateTime;
+
+public class RoomEvent {
+    private String type; // ROUND_ENDED, AUTO_SUBMISSION_RESULT, ...
+    private String roomCode;
+    private String username;
+    private Object payload;
+    private LocalDateTime timestamp;
+    
+    // Constructors
+    public RoomEvent() {}
+    
+    public RoomEvent(String type, String roomCode, String username, Object payload) {
+        this.type = type;
+        this.roomCode = roomCode;
+        this.username = username;
+        this.payload = payload;
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public String getRoomCode() { return roomCode; }
+    public void setRoomCode(String roomCode) { this.roomCode = roomCode; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public Object getPayload() { return payload; }
+    public void setPayload(Object payload) { this.payload = payload; }
+    
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
@@ -2,6 +2,7 @@
 package com.codecollab.v1.dto;
 
 import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.repository.RoomMemberRepository;
 import java.time.LocalDateTime;
 
 public class RoomMemberInfo {
@@ -31,6 +32,19 @@ public class RoomMemberInfo {
         return info;
     }
     
+    public static RoomMemberInfo fromMemberView(RoomMemberRepository.MemberView member, UserPrincipal user) {
+        RoomMemberInfo info = new RoomMemberInfo();
+        info.setUsername(user.username());
+        info.setEmail(user.email());
+        info.setRating(user.rating());
+        info.setRole(member.getRole());
+        info.setStatus(member.getStatus());
+        info.setJoinedAt(member.getJoinedAt());
+        info.setScore(member.getScore());
+        info.setRank(member.getRank());
+        return info;
+    }
+    
     // Getters and Setters
     public String getUsername() { return username; }
     public void setUsername(String username) { this.username = username; }
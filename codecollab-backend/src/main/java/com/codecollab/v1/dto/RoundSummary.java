@@ -0,0 +1,107 @@
+// RoundSummary.java
+package com.codecollab.v1.dto;
+
+import com.codecollab.v1.entity.Round;
+import com.codecollab.v1.entity.RoundResult;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class RoundSummary {
+    private Long roundId;
+    private Integer roundNumber;
+    private Long problemId;
+    private String problemTitle;
+    private String mode;
+    private Integer timeLimitSeconds;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private List<Standing> standings;
+    
+    // Constructors
+    public RoundSummary() {}
+    
+    // Factory method
+    public static RoundSummary fromRound(Round round, List<RoundResult> results) {
+        RoundSummary summary = new RoundSummary();
+        summary.setRoundId(round.getId());
+        summary.setRoundNumber(round.getRoundNumber());
+        if (round.getProblem() != null) {
+            summary.setProblemId(round.getProblem().getId());
+            summary.setProblemTitle(round.getProblem().getTitle());
+        }
+        summary.setMode(round.getMode());
+        summary.setTimeLimitSeconds(round.getTimeLimitSeconds());
+        summary.setStartTime(round.getStartTime());
+        summary.setEndTime(round.getEndTime());
+        summary.setStandings(results.stream().map(Standing::fromResult).toList());
+        return summary;
+    }
+    
+    // Getters and Setters
+    public Long getRoundId() { return roundId; }
+    public void setRoundId(Long roundId) { this.roundId = roundId; }
+    
+    public Integer getRoundNumber() { return roundNumber; }
+    public void setRoundNumber(Integer roundNumber) { this.roundNumber = roundNumber; }
+    
+    public Long getProblemId() { return problemId; }
+    public void setProblemId(Long problemId) { this.problemId = problemId; }
+    
+    public String getProblemTitle() { return problemTitle; }
+    public void setProblemTitle(String problemTitle) { this.problemTitle = problemTitle; }
+    
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+    
+    public Integer getTimeLimitSeconds() { return timeLimitSeconds; }
+    public void setTimeLimitSeconds(Integer timeLimitSeconds) { this.timeLimitSeconds = timeLimitSeconds; }
+    
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+    
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+    
+    public List<Standing> getStandings() { return standings; }
+    public void setStandings(List<Standing> standings) { this.standings = standings; }
+    
+    public static class Standing {
+        private String username;
+        private Integer score;
+        private String status;
+        private Integer attempts;
+        private Long penaltySeconds;
+        private Integer rank;
+        
+        // Factory method
+        public static Standing fromResult(RoundResult result) {
+            Standing standing = new Standing();
+            standing.setUsername(result.getUser().getUsername());
+            standing.setScore(result.getBestScore());
+            standing.setStatus(result.getBestStatus());
+            standing.setAttempts(result.getAttempts());
+            standing.setPenaltySeconds(result.getPenaltySeconds());
+            standing.setRank(result.getRank());
+            return standing;
+        }
+        
+        // Getters and Setters
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        
+        public Integer getScore() { return score; }
+        public void setScore(Integer score) { this.score = score; }
+        
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        
+        public Integer getAttempts() { return attempts; }
+        public void setAttempts(Integer attempts) { this.attempts = attempts; }
+        
+        public Long getPenaltySeconds() { return penaltySeconds; }
+        public void setPenaltySeconds(Long penaltySeconds) { this.penaltySeconds = penaltySeconds; }
+        
+        public Integer getRank() { return rank; }
+        public void setRank(Integer rank) { this.rank = rank; }
+    }
+}
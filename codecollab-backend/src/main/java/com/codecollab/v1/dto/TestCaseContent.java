@@ -0,0 +1,39 @@
+// TestCaseContent.java
+package com.codecollab.v1.dto;
+
+// A test case as the problem endpoints return it: the same fields test_cases rows used to
+// carry, with input and expected output read from TestDataStore and capped like verdict previews
+public class TestCaseContent {
+    private Long id;
+    private String inputData;
+    private String expectedOutput;
+    private Boolean isSample;
+    private Integer points;
+    
+    // Constructors
+    public TestCaseContent() {}
+    
+    public TestCaseContent(Long id, String inputData, String expectedOutput, Boolean isSample, Integer points) {
+        this.id = id;
+        this.inputData = inputData;
+        this.expectedOutput = expectedOutput;
+        this.isSample = isSample;
+        this.points = points;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getInputData() { return inputData; }
+    public void setInputData(String inputData) { this.inputData = inputData; }
+    
+    public String getExpectedOutput() { return expectedOutput; }
+    public void setExpectedOutput(String expectedOutput) { this.expectedOutput = expectedOutput; }
+    
+    public Boolean getIsSample() { return isSample; }
+    public void setIsSample(Boolean isSample) { this.isSample = isSample; }
+    
+    public Integer getPoints() { return points; }
+    public void setPoints(Integer points) { this.points = points; }
+}
@@ -0,0 +1,39 @@
+// TestVerdict.java
+package com.codecollab.v1.dto;
+
+// One test case outcome streamed to the room while a submission runs.
+// Expected and actual output are left out on purpose, the whole room receives it.
+public class TestVerdict {
+    private int index;
+    private int total;
+    private boolean passed;
+    private String error;
+    private int executionTimeMs;
+    
+    // Constructors
+    public TestVerdict() {}
+    
+    public TestVerdict(int index, int total, ExecutionResult.TestCaseResult result) {
+        this.index = index;
+        this.total = total;
+        this.passed = result.isPassed();
+        this.error = result.getError();
+        this.executionTimeMs = result.getExecutionTimeMs();
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    
+    public boolean isPassed() { return passed; }
+    public void setPassed(boolean passed) { this.passed = passed; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    
+    public int getExecutionTimeMs() { return executionTimeMs; }
+    public void setExecutionTimeMs(int executionTimeMs) { this.executionTimeMs = executionTimeMs; }
+}
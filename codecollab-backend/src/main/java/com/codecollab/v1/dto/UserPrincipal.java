@@ -0,0 +1,25 @@
+// UserPrincipal.java
+package com.codecollab.v1.dto;
+
+import com.codecollab.v1.entity.User;
+import java.time.LocalDateTime;
+
+// Immutable snapshot of the user fields hot paths need, safe to share across threads and requests
+public record UserPrincipal(Long id, String username, String email, Integer rating, LocalDateTime createdAt) {
+    
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(), user.getRating(),
+                                 user.getCreatedAt());
+    }
+    
+    // Detached stand-in for services that take a User: identity and read-only fields only, never saved
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setRating(rating);
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+}
@@ -14,7 +14,7 @@ public class Room {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false, length = 8)
+    @Column(unique = true, nullable = false, length = 16)
     private String roomCode;
 
     @Column(nullable = false, length = 100)
@@ -104,6 +104,11 @@ public class Room {
         if (this.currentMembers > 0) this.currentMembers--;
     }
     
+    // Every persisted change counts as activity for the stale room reaper
+    @PrePersist
+    @PreUpdate
+    public void touch() { this.lastActivity = LocalDateTime.now(); }
+    
     // All getters and setters remain the same
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -147,4 +152,7 @@ public class Room {
     public List<RoomMember> getMembers() { return members; }
     public void setMembers(List<RoomMember> members) { this.members = members; }
     
+    public LocalDateTime getLastActivity() { return lastActivity; }
+    public void setLastActivity(LocalDateTime lastActivity) { this.lastActivity = lastActivity; }
+    
 }
\ No newline at end of file
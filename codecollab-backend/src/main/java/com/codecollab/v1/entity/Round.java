@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 public class Round {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "round_seq")
+    @SequenceGenerator(name = "round_seq", sequenceName = "rounds_seq", allocationSize = 50)
     private Long id;
 
     // many rounds per room
@@ -0,0 +1,67 @@
+package com.codecollab.v1.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Per-user aggregate of one round, updated as each verdict arrives
+@Entity
+@Table(name = "round_results",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"round_id", "user_id"}))
+public class RoundResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "round_result_seq")
+    @SequenceGenerator(name = "round_result_seq", sequenceName = "round_results_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "round_id", nullable = false)
+    private Round round;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    private Integer bestScore = 0; // 0-100, share of test cases passed
+
+    private String bestStatus;
+
+    private Integer attempts = 0;
+
+    private Integer rejectedAttempts = 0; // attempts that did not improve on the best so far
+
+    private Long penaltySeconds = 0L;
+
+    private LocalDateTime bestSubmittedAt;
+
+    @Column(name = "result_rank")
+    private Integer rank; // set when the round closes
+
+    public RoundResult() {}
+
+    public RoundResult(Round round, User user) {
+        this.round = round;
+        this.user = user;
+    }
+
+    // getters / setters
+    public Long getId() { return id; }
+    public Round getRound() { return round; }
+    public void setRound(Round round) { this.round = round; }
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    public Integer getBestScore() { return bestScore; }
+    public void setBestScore(Integer bestScore) { this.bestScore = bestScore; }
+    public String getBestStatus() { return bestStatus; }
+    public void setBestStatus(String bestStatus) { this.bestStatus = bestStatus; }
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+    public Integer getRejectedAttempts() { return rejectedAttempts; }
+    public void setRejectedAttempts(Integer rejectedAttempts) { this.rejectedAttempts = rejectedAttempts; }
+    public Long getPenaltySeconds() { return penaltySeconds; }
+    public void setPenaltySeconds(Long penaltySeconds) { this.penaltySeconds = penaltySeconds; }
+    public LocalDateTime getBestSubmittedAt() { return bestSubmittedAt; }
+    public void setBestSubmittedAt(LocalDateTime bestSubmittedAt) { this.bestSubmittedAt = bestSubmittedAt; }
+    public Integer getRank() { return rank; }
+    public void setRank(Integer rank) { this.rank = rank; }
+}
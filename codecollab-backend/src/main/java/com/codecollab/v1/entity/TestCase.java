@@ -1,24 +1,36 @@
 package com.codecollab.v1.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "test_cases")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "test_cases")
 public class TestCase {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_case_seq")
+    @SequenceGenerator(name = "test_case_seq", sequenceName = "test_cases_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "problem_id", nullable = false)
     private Problem problem;
     
-    @Column(columnDefinition = "TEXT", nullable = false)
-    private String inputData;
+    // The data itself lives in TestDataStore, rows keep its SHA-256 and size in bytes
+    @Column(nullable = false, length = 64)
+    private String inputHash;
     
-    @Column(columnDefinition = "TEXT", nullable = false)
-    private String expectedOutput;
+    @Column(nullable = false)
+    private Long inputBytes;
+    
+    @Column(nullable = false, length = 64)
+    private String outputHash;
+    
+    @Column(nullable = false)
+    private Long outputBytes;
     
     @Column(columnDefinition = "BOOLEAN DEFAULT FALSE")
     private Boolean isSample = false;
@@ -41,11 +53,17 @@ public class TestCase {
     public Problem getProblem() { return problem; }
     public void setProblem(Problem problem) { this.problem = problem; }
     
-    public String getInputData() { return inputData; }
-    public void setInputData(String inputData) { this.inputData = inputData; }
+    public String getInputHash() { return inputHash; }
+    public void setInputHash(String inputHash) { this.inputHash = inputHash; }
+    
+    public Long getInputBytes() { return inputBytes; }
+    public void setInputBytes(Long inputBytes) { this.inputBytes = inputBytes; }
+    
+    public String getOutputHash() { return outputHash; }
+    public void setOutputHash(String outputHash) { this.outputHash = outputHash; }
     
-    public String getExpectedOutput() { return expectedOutput; }
-    public void setExpectedOutput(String expectedOutput) { this.expectedOutput = expectedOutput; }
+    public Long getOutputBytes() { return outputBytes; }
+    public void setOutputBytes(Long outputBytes) { this.outputBytes = outputBytes; }
     
     public Boolean getIsSample() { return isSample; }
     public void setIsSample(Boolean isSample) { this.isSample = isSample; }
@@ -1,7 +1,9 @@
 package com.codecollab.v1.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
 @Table(name = "users")
@@ -16,6 +18,7 @@ public class User {
     @Column(unique = true, nullable = false, length = 100)
     private String email;
     
+    @JsonIgnore
     @Column(nullable = false)
     private String passwordHash;
     
@@ -37,6 +40,19 @@ public class User {
         this.passwordHash = passwordHash;
     }
     
+    // Authenticated users are detached copies, so identity is the id, not the instance
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof User other)) return false;
+        return getId() != null && getId().equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,17 @@
+package com.codecollab.v1.event;
+
+import java.time.LocalDateTime;
+
+// Published by the round timer when an ACTIVE room reaches its endTime
+public class RoundExpiredEvent {
+    private final String roomCode;
+    private final LocalDateTime endTime;
+    
+    public RoundExpiredEvent(String roomCode, LocalDateTime endTime) {
+        this.roomCode = roomCode;
+        this.endTime = endTime;
+    }
+    
+    public String getRoomCode() { return roomCode; }
+    public LocalDateTime getEndTime() { return endTime; }
+}
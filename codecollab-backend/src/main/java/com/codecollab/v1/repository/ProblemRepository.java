@@ -1,8 +1,12 @@
 package com.codecollab.v1.repository;
 
+import com.codecollab.v1.dto.ProblemSummary;
 import com.codecollab.v1.entity.Problem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -14,6 +18,12 @@ public interface ProblemRepository extends JpaRepository<Problem, Long> {
     List<Problem> findByCategory(String category);
     List<Problem> findByDifficultyAndCategory(Problem.Difficulty difficulty, String category);
     
+    // Problem list without the TEXT columns, only the start of the description is read
+    @Query("SELECT new com.codecollab.v1.dto.ProblemSummary(p.id, p.title, p.difficulty, p.category, " +
+           "SUBSTRING(p.description, 1, 200), p.timeLimitMs, p.memoryLimitMb) FROM Problem p ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ProblemSummary> findAllSummaries();
+    
     // Add this method to fetch problem with all fields initialized
     @Query("SELECT p FROM Problem p WHERE p.id = :id")
     Optional<Problem> findByIdWithFullData(@Param("id") Long id);
@@ -4,11 +4,16 @@ package com.codecollab.v1.repository;
 import com.codecollab.v1.entity.Room;
 import com.codecollab.v1.entity.RoomMember;
 import com.codecollab.v1.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,8 +21,17 @@ import java.util.Optional;
 public interface RoomMemberRepository extends JpaRepository<RoomMember, Long> {
     List<RoomMember> findByRoomAndStatus(Room room, RoomMember.MemberStatus status);
     
+    List<RoomMember> findByRoomAndStatusIn(Room room, Collection<RoomMember.MemberStatus> statuses);
+    
+    List<RoomMember> findByRoomInAndStatusIn(Collection<Room> rooms, Collection<RoomMember.MemberStatus> statuses);
+    
     Optional<RoomMember> findByRoomAndUser(Room room, User user);
     
+    // Row lock on the seat, held to the end of the transaction: serializes one member's submissions
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rm FROM RoomMember rm WHERE rm.id = :id")
+    Optional<RoomMember> findByIdForUpdate(@Param("id") Long id);
+    
     boolean existsByRoomAndUser(Room room, User user);
     
     @Query("SELECT rm FROM RoomMember rm WHERE rm.user = :user AND rm.status = 'JOINED'")
@@ -26,10 +40,49 @@ public interface RoomMemberRepository extends JpaRepository<RoomMember, Long> {
     @Query("SELECT rm FROM RoomMember rm JOIN rm.room r WHERE rm.user = :user AND rm.status = 'JOINED' AND r.status IN ('WAITING', 'ACTIVE')")
     List<RoomMember> findActiveRoomMembershipsByUser(@Param("user") User user);
     
-    // Get leaderboard for a room
-    @Query("SELECT rm FROM RoomMember rm WHERE rm.room = :room AND rm.status = 'JOINED' " +
-           "ORDER BY rm.submissionTime ASC, rm.score DESC")
+    // Persisted standings, only read to rebuild the live leaderboard after a restart
+    @Query("SELECT rm FROM RoomMember rm WHERE rm.room = :room AND rm.status <> 'LEFT' " +
+           "ORDER BY rm.score DESC, rm.submissionTime ASC")
     List<RoomMember> findRoomLeaderboard(@Param("room") Room room);
     
     long countByRoomAndStatus(Room room, RoomMember.MemberStatus status);
+    
+    // Seat check by code and name, for callers that only have the STOMP destination and principal
+    @Query("SELECT COUNT(rm) > 0 FROM RoomMember rm WHERE rm.room.roomCode = :roomCode " +
+           "AND rm.user.username = :username AND rm.status IN :statuses")
+    boolean existsSeat(@Param("roomCode") String roomCode, @Param("username") String username,
+                       @Param("statuses") Collection<RoomMember.MemberStatus> statuses);
+    
+    // Member list without joining users, user details come from UserCache
+    @Query("SELECT rm.id AS id, rm.user.id AS userId, rm.role AS role, rm.status AS status, " +
+           "rm.joinedAt AS joinedAt, rm.score AS score, rm.rank AS rank " +
+           "FROM RoomMember rm WHERE rm.room = :room AND rm.status = 'JOINED'")
+    List<MemberView> findMemberViews(@Param("room") Room room);
+    
+    List<RoomMember> findByIdInAndStatusIn(Collection<Long> ids, Collection<RoomMember.MemberStatus> statuses);
+    
+    // Bulk presence transitions, applied by the presence flush
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomMember rm SET rm.status = :status WHERE rm.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") RoomMember.MemberStatus status);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomMember rm SET rm.status = 'LEFT', rm.leftAt = :leftAt WHERE rm.id IN :ids")
+    int markLeft(@Param("ids") Collection<Long> ids, @Param("leftAt") LocalDateTime leftAt);
+    
+    // Flushes first so pending room changes are not lost when the context is cleared
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RoomMember rm SET rm.status = 'LEFT', rm.leftAt = :leftAt " +
+           "WHERE rm.room.id IN :roomIds AND rm.status <> 'LEFT'")
+    int markLeftInRooms(@Param("roomIds") Collection<Long> roomIds, @Param("leftAt") LocalDateTime leftAt);
+    
+    interface MemberView {
+        Long getId();
+        Long getUserId();
+        RoomMember.MemberRole getRole();
+        RoomMember.MemberStatus getStatus();
+        LocalDateTime getJoinedAt();
+        Integer getScore();
+        Integer getRank();
+    }
 }
\ No newline at end of file
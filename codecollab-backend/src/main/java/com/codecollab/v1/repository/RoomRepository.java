@@ -3,12 +3,15 @@ package com.codecollab.v1.repository;
 
 import com.codecollab.v1.entity.Room;
 import com.codecollab.v1.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,9 +29,38 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     
     List<Room> findByStatus(Room.RoomStatus status);
     
-    // Cleanup old rooms
-    @Query("SELECT r FROM Room r WHERE r.status = 'WAITING' AND r.createdAt < :cutoffTime")
-    List<Room> findStaleWaitingRooms(@Param("cutoffTime") LocalDateTime cutoffTime);
+    // Cleanup old rooms: one page of live rooms without activity since cutoffTime
+    @Query("SELECT r.id AS id, r.roomCode AS roomCode FROM Room r " +
+           "WHERE r.status IN ('WAITING', 'ACTIVE', 'DISCUSSION', 'PAUSED') " +
+           "AND COALESCE(r.lastActivity, r.createdAt) < :cutoffTime ORDER BY r.id")
+    List<RoomRef> findStaleWaitingRooms(@Param("cutoffTime") LocalDateTime cutoffTime, Pageable page);
+    
+    @Query("SELECT r.id AS id, r.roomCode AS roomCode FROM Room r WHERE r.status = 'ENDED' " +
+           "AND COALESCE(r.lastActivity, r.createdAt) < :cutoffTime ORDER BY r.id")
+    List<RoomRef> findEndedRooms(@Param("cutoffTime") LocalDateTime cutoffTime, Pageable page);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Room r SET r.status = 'ENDED', r.endTime = :now, r.currentProblem = null, " +
+           "r.version = r.version + 1 WHERE r.id IN :ids")
+    int endRooms(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    // Archived rooms give up their code ('#' + id can never collide with a generated code)
+    @Query("UPDATE Room r SET r.status = 'ARCHIVED', r.roomCode = CONCAT('#', CAST(r.id AS String)), " +
+           "r.version = r.version + 1 WHERE r.id IN :ids AND r.status = 'ENDED'")
+    int archiveRooms(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE Room r SET r.lastActivity = :now WHERE r.roomCode IN :roomCodes")
+    int touchRooms(@Param("roomCodes") Collection<String> roomCodes, @Param("now") LocalDateTime now);
     
     boolean existsByRoomCode(String roomCode);
+    
+    @Query("SELECT r.roomCode FROM Room r WHERE r.roomCode IN :roomCodes")
+    List<String> findExistingRoomCodes(@Param("roomCodes") Collection<String> roomCodes);
+    
+    interface RoomRef {
+        Long getId();
+        String getRoomCode();
+    }
 }
\ No newline at end of file
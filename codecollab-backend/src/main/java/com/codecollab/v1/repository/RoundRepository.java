@@ -2,9 +2,25 @@ package com.codecollab.v1.repository;
 
 import com.codecollab.v1.entity.Round;
 import com.codecollab.v1.entity.Room;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RoundRepository extends JpaRepository<Round, Long> {
+    @EntityGraph(attributePaths = "problem")
     List<Round> findByRoomOrderByRoundNumberDesc(Room room);
+    
+    Optional<Round> findFirstByRoomOrderByRoundNumberDesc(Room room);
+    
+    Optional<Round> findFirstByRoomAndEndTimeIsNullOrderByRoundNumberDesc(Room room);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Round r SET r.endTime = :endTime WHERE r.room.id IN :roomIds AND r.endTime IS NULL")
+    int closeOpenRounds(@Param("roomIds") Collection<Long> roomIds, @Param("endTime") LocalDateTime endTime);
 }
@@ -0,0 +1,29 @@
+package com.codecollab.v1.repository;
+
+import com.codecollab.v1.entity.Round;
+import com.codecollab.v1.entity.RoundResult;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RoundResultRepository extends JpaRepository<RoundResult, Long> {
+    // Locking read: sees a row committed by a submission that held the seat lock before us,
+    // which a plain read from an older MySQL snapshot would miss
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rr FROM RoundResult rr WHERE rr.round.id = :roundId AND rr.user.id = :userId")
+    Optional<RoundResult> findForUpdate(@Param("roundId") Long roundId, @Param("userId") Long userId);
+
+    @Query("SELECT rr FROM RoundResult rr WHERE rr.round.id = :roundId " +
+           "ORDER BY rr.bestScore DESC, rr.penaltySeconds ASC, rr.id ASC")
+    List<RoundResult> findStandings(@Param("roundId") Long roundId);
+
+    @Query("SELECT rr FROM RoundResult rr JOIN FETCH rr.user WHERE rr.round IN :rounds " +
+           "ORDER BY rr.bestScore DESC, rr.penaltySeconds ASC, rr.id ASC")
+    List<RoundResult> findByRoundsWithUser(@Param("rounds") Collection<Round> rounds);
+}
@@ -5,9 +5,9 @@ import com.codecollab.v1.entity.Round;
 import com.codecollab.v1.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
-import java.util.Optional;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     List<Submission> findByRound(Round round);
-    Optional<Submission> findByRoundAndUser(Round round, User user);
+    // A member can submit several times per round, newest first
+    List<Submission> findByRoundAndUserOrderBySubmittedAtDesc(Round round, User user);
 }
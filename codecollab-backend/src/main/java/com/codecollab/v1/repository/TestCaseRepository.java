@@ -1,12 +1,19 @@
 package com.codecollab.v1.repository;
 
 import com.codecollab.v1.entity.TestCase;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
+    // Result ids go to the query cache, the rows themselves to the test_cases region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TestCase> findByProblemId(Long problemId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TestCase> findByProblemIdAndIsSample(Long problemId, Boolean isSample);
 }
\ No newline at end of file
@@ -2,7 +2,12 @@ package com.codecollab.v1.repository;
 
 import com.codecollab.v1.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    // Loads the in-memory rating ladder once at startup, in id order so every rating bucket is appended to
+    @Query("SELECT u.id AS id, u.username AS username, u.rating AS rating FROM User u ORDER BY u.id")
+    List<UserRating> findAllRatings();
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
+    
+    interface UserRating {
+        Long getId();
+        String getUsername();
+        Integer getRating();
+    }
 }
\ No newline at end of file
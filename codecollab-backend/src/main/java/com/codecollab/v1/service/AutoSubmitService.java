@@ -0,0 +1,135 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import com.codecollab.v1.dto.RoomEvent;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.event.RoundExpiredEvent;
+import com.codecollab.v1.util.LogContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Ends a timed round: moves the room to DISCUSSION, runs every seated member's
+ * last draft through the execution engine ahead of regular traffic, one task per
+ * member, and pushes the verdicts to /topic/rooms/{roomCode}. The round is closed
+ * once the last member's verdict is in.
+ */
+@Service
+public class AutoSubmitService {
+    
+    private static final Logger log = LoggerFactory.getLogger(AutoSubmitService.class);
+    
+    @Autowired
+    private RoomService roomService;
+    
+    @Autowired
+    private ProblemService problemService;
+    
+    @Autowired
+    private CodeExecutionService executionService;
+    
+    @Autowired
+    private RoomDraftService draftService;
+    
+    @Autowired
+    private RoundService roundService;
+    
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    
+    @Autowired
+    @Qualifier("autoSubmitTaskExecutor")
+    private TaskExecutor autoSubmitExecutor;
+    
+    @Async("roundTimerTaskExecutor")
+    @EventListener
+    public void onRoundExpired(RoundExpiredEvent event) {
+        String roomCode = event.getRoomCode();
+        MDC.put(LogContext.ROOM_CODE, roomCode);
+        try {
+            Optional<Room> expired = roomService.expireSession(roomCode);
+            if (expired.isEmpty()) {
+                return; // Paused, ended or re-timed since the timer was armed
+            }
+            
+            Room room = expired.get();
+            String topic = "/topic/rooms/" + roomCode;
+            messagingTemplate.convertAndSend(topic, new RoomEvent("ROUND_ENDED", roomCode, null, room.getStatus()));
+            
+            if (room.getCurrentProblem() == null) {
+                roomService.finishRound(room);
+                return;
+            }
+            List<TestCase> testCases = problemService.getTestCases(room.getCurrentProblem().getId());
+            
+            // Members run side by side, disconnected ones too since their seat and draft are still there
+            List<CompletableFuture<Void>> submissions = new ArrayList<>();
+            for (RoomMember member : roomService.getSeatedMembers(room)) {
+                submissions.add(CompletableFuture.runAsync(
+                    LogContext.wrap(() -> autoSubmit(room, member, testCases, topic)), autoSubmitExecutor));
+            }
+            
+            // Auto-submitted verdicts count towards the round that just ended, so close it after the last one
+            Runnable finish = LogContext.wrap(() -> finishRound(room));
+            CompletableFuture.allOf(submissions.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> finish.run());
+            
+        } catch (Exception e) {
+            log.error("Auto-submit failed for room {}", roomCode, e);
+        } finally {
+            MDC.remove(LogContext.ROOM_CODE);
+        }
+    }
+    
+    private void autoSubmit(Room room, RoomMember member, List<TestCase> testCases, String topic) {
+        String roomCode = room.getRoomCode();
+        String username = member.getUser().getUsername();
+        MDC.put(LogContext.USER, username);
+        try {
+            Optional<RoomDraftService.Draft> draft = draftService.getDraft(roomCode, username);
+            
+            ExecutionResult result;
+            if (draft.isEmpty() || draft.get().code() == null || draft.get().code().isBlank()) {
+                result = new ExecutionResult("NO_SUBMISSION", "No code was saved before time ran out");
+            } else {
+                result = executionService.executeCode(draft.get().code(), draft.get().language(),
+                                                      testCases, CodeExecutionService.Priority.HIGH);
+                roundService.recordSubmission(room, member, draft.get().code(), draft.get().language(),
+                                              result, true);
+            }
+            
+            messagingTemplate.convertAndSend(topic,
+                new RoomEvent("AUTO_SUBMISSION_RESULT", roomCode, username, result));
+        } catch (Exception e) {
+            // One member failing must not hold back the others or the end of the round
+            log.error("Auto-submit failed for {} in room {}", username, roomCode, e);
+        } finally {
+            MDC.remove(LogContext.USER);
+        }
+    }
+    
+    private void finishRound(Room room) {
+        try {
+            roomService.finishRound(room);
+            draftService.clearRoom(room.getRoomCode());
+            log.info("Auto-submitted round for room {}", room.getRoomCode());
+        } catch (Exception e) {
+            log.error("Closing the round failed for room {}", room.getRoomCode(), e);
+        }
+    }
+}
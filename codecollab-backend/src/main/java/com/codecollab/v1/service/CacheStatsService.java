@@ -0,0 +1,40 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hit, miss and put counts of the Hibernate second-level cache regions
+ * (see ehcache.xml), plus the query cache as a whole. Counts are since startup.
+ */
+@Service
+public class CacheStatsService {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    public List<CacheRegionStats> regionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>();
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.add(CacheRegionStats.fromStatistics(name, region));
+            }
+        }
+        regions.add(new CacheRegionStats("query-cache", statistics.getQueryCacheHitCount(),
+                                         statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        return regions;
+    }
+}
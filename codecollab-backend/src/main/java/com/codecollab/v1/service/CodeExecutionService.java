@@ -3,20 +3,59 @@ package com.codecollab.v1.service;
 import com.codecollab.v1.dto.ExecutionResult;
 import com.codecollab.v1.entity.TestCase;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.codecollab.v1.util.LogContext;
+import com.codecollab.v1.util.OutputComparator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 @Service
 public class CodeExecutionService {
     
+    private static final Logger log = LoggerFactory.getLogger(CodeExecutionService.class);
+    
     private final WebClient webClient;
-    private final ExecutorService executorService;
+    private final ThreadPoolExecutor executorService;
+    private final AtomicLong taskSequence = new AtomicLong();
+    
+    // Multiple of 3 so the base64 chunks concatenate without padding in between
+    private static final int STDIN_CHUNK_BYTES = 48 * 1024;
+    
+    @Autowired
+    private TestDataStore testDataStore;
+    
+    @Autowired
+    private ExecutionMetrics executionMetrics;
+    
+    @Autowired
+    private ExecutionTracing executionTracing;
+    
+    // Lower ordinal runs first: timer auto-submissions jump ahead of room and solo traffic
+    public enum Priority {
+        HIGH, ROOM, NORMAL
+    }
     
     private final Map<String, Integer> languageIds = Map.of(
         "cpp", 54,
@@ -25,31 +64,59 @@ public class CodeExecutionService {
         "javascript", 63
     );
     
-    public CodeExecutionService() {
-        this.webClient = WebClient.builder()
+    // Boot's builder is instrumented, so Judge0 calls get client spans and the traceparent header
+    public CodeExecutionService(WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder
             .baseUrl("http://localhost:2358")
             .codecs(configurer -> configurer
                 .defaultCodecs()
                 .maxInMemorySize(16 * 1024 * 1024))
             .build();
         
-        // Thread pool for parallel execution
-        this.executorService = Executors.newFixedThreadPool(8);
+        // Thread pool for parallel execution, queued test cases are ordered by priority
+        this.executorService = new ThreadPoolExecutor(8, 8, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>());
+    }
+    
+    @PostConstruct
+    public void registerMetrics() {
+        executionMetrics.bindExecutor(executorService);
     }
     
     public ExecutionResult executeCode(String code, String language, List<TestCase> testCases) {
+        return executeCode(code, language, testCases, Priority.NORMAL);
+    }
+    
+    public ExecutionResult executeCode(String code, String language, List<TestCase> testCases, Priority priority) {
+        return executeCode(code, language, testCases, priority, null);
+    }
+    
+    // onTestCase is called with (index, result) as soon as each test case finishes, in completion order
+    public ExecutionResult executeCode(String code, String language, List<TestCase> testCases, Priority priority,
+                                       BiConsumer<Integer, ExecutionResult.TestCaseResult> onTestCase) {
+        if (MDC.get(LogContext.SUBMISSION_ID) != null) {
+            return executionTracing.submission(language, priority, testCases.size(),
+                () -> execute(code, language, testCases, priority, onTestCase));
+        }
+        // One id per execution, carried onto the pool threads with the rest of the MDC
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(LogContext.SUBMISSION_ID, LogContext.newSubmissionId())) {
+            return executionTracing.submission(language, priority, testCases.size(),
+                () -> execute(code, language, testCases, priority, onTestCase));
+        }
+    }
+    
+    private ExecutionResult execute(String code, String language, List<TestCase> testCases, Priority priority,
+                                    BiConsumer<Integer, ExecutionResult.TestCaseResult> onTestCase) {
         ExecutionResult result = new ExecutionResult();
         List<ExecutionResult.TestCaseResult> testCaseResults = Collections.synchronizedList(new ArrayList<>());
         
         int total = testCases.size();
         
-        System.out.println("=== EXECUTING CODE ===");
-        System.out.println("Language: " + language);
-        System.out.println("Test cases: " + total);
+        log.info("Executing {} test cases in {} at {} priority", total, language, priority);
         
         try {
             // Quick health check
-            if (!testJudge0Connection()) {
+            if (!testJudge0Connection(language)) {
                 result.setStatus("ERROR");
                 result.setMessage("Judge0 service is temporarily unavailable. Please try again.");
                 return result;
@@ -57,15 +124,32 @@ public class CodeExecutionService {
             
             // Execute test cases in parallel
             List<CompletableFuture<ExecutionResult.TestCaseResult>> futures = new ArrayList<>();
+            Executor prioritized = task -> executorService.execute(
+                new PrioritizedTask(priority, taskSequence.getAndIncrement(), LogContext.wrap(task)));
+            Observation submissionSpan = executionTracing.current();
             
             for (int i = 0; i < testCases.size(); i++) {
                 final int index = i;
                 final TestCase testCase = testCases.get(i);
+                final long enqueuedAt = System.nanoTime();
                 
                 CompletableFuture<ExecutionResult.TestCaseResult> future = CompletableFuture.supplyAsync(() -> {
-                    System.out.println("Running test case " + (index + 1));
-                    return executeTestCaseWithRetry(code, language, testCase);
-                }, executorService);
+                    long queueNanos = System.nanoTime() - enqueuedAt;
+                    executionMetrics.queueWait(queueNanos, language, priority);
+                    log.debug("Running test case {}", index + 1);
+                    Timer.Sample testCaseSample = executionMetrics.start();
+                    ExecutionResult.TestCaseResult tcResult = executionTracing.testCase(submissionSpan, index, testCase,
+                        queueNanos, () -> executeTestCaseWithRetry(code, language, testCase));
+                    executionMetrics.testCase(testCaseSample, language, tcResult);
+                    if (onTestCase != null) {
+                        try {
+                            onTestCase.accept(index, tcResult);
+                        } catch (Exception e) {
+                            log.warn("Test case listener failed", e);
+                        }
+                    }
+                    return tcResult;
+                }, prioritized);
                 
                 futures.add(future);
             }
@@ -76,15 +160,14 @@ public class CodeExecutionService {
             
             // Collect results
             int passed = 0;
-            for (CompletableFuture<ExecutionResult.TestCaseResult> future : futures) {
-                ExecutionResult.TestCaseResult tcResult = future.get();
+            for (int i = 0; i < futures.size(); i++) {
+                ExecutionResult.TestCaseResult tcResult = futures.get(i).get();
                 testCaseResults.add(tcResult);
                 
                 if (tcResult.isPassed()) {
                     passed++;
-                    System.out.println("✅ PASSED");
                 } else {
-                    System.out.println("❌ FAILED: " + tcResult.getError());
+                    log.debug("Test case {} failed: {}", i + 1, tcResult.getError());
                 }
             }
             
@@ -101,56 +184,84 @@ public class CodeExecutionService {
             }
             
         } catch (Exception e) {
-            System.err.println("Execution failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Execution failed", e);
             result.setStatus("ERROR");
             result.setMessage("Execution Error: " + e.getMessage());
             result.setTestCaseResults(testCaseResults);
         }
         
-        System.out.println("=== EXECUTION COMPLETE: " + result.getStatus() + " ===");
+        log.info("Execution finished: {} ({}/{} passed)", result.getStatus(), result.getPassedTestCases(), total);
         return result;
     }
     
-    private boolean testJudge0Connection() {
+    private boolean testJudge0Connection(String language) {
+        Timer.Sample sample = executionMetrics.start();
+        boolean up = false;
         try {
-            String response = webClient.get()
+            String response = executionMetrics.judge0Request(() -> webClient.get()
                 .uri("/system_info")
                 .retrieve()
                 .bodyToMono(String.class)
                 .timeout(Duration.ofSeconds(2))
-                .block();
+                .block());
             
-            return response != null && response.contains("Architecture");
+            up = response != null && response.contains("Architecture");
+            return up;
         } catch (Exception e) {
-            System.err.println("Judge0 connection failed: " + e.getMessage());
+            log.warn("Judge0 health check failed: {}", e.getMessage());
             return false;
+        } finally {
+            executionMetrics.healthCheck(sample, language, up);
         }
     }
     
     private ExecutionResult.TestCaseResult executeTestCaseWithRetry(String code, String language, TestCase testCase) {
-        // Try twice with 1 second delay between attempts
-        for (int attempt = 0; attempt < 2; attempt++) {
-            ExecutionResult.TestCaseResult result = executeTestCaseAsync(code, language, testCase);
-            
+        // Up to three submissions, with 1 second before the second one
+        ExecutionResult.TestCaseResult result = executeTestCaseCounted(code, language, testCase);
+        for (int attempt = 1; attempt < 3; attempt++) {
             // If success or non-retryable error, return
             if (result.isPassed() || !isRetryableError(result.getError())) {
                 return result;
             }
             
-            // Retry after delay
-            if (attempt == 0) {
-                System.out.println("Retrying test case...");
+            log.info("Retrying test case after: {}", result.getError());
+            if (attempt == 1) {
                 try {
                     Thread.sleep(1000);
                 } catch (InterruptedException e) {
+                    // Shutting down, hand back the failure instead of submitting again
                     Thread.currentThread().interrupt();
-                    break;
+                    return result;
                 }
             }
+            // Counted right before the request, so the metric matches what Judge0 actually received
+            executionMetrics.retry(language);
+            result = executeTestCaseCounted(code, language, testCase);
         }
-        
-        return executeTestCaseAsync(code, language, testCase);
+        return result;
+    }
+    
+    private ExecutionResult.TestCaseResult executeTestCaseCounted(String code, String language, TestCase testCase) {
+        ExecutionResult.TestCaseResult result = executeTestCaseAsync(code, language, testCase);
+        countTimeout(language, result);
+        return result;
+    }
+    
+    // "Execution timeout" is polling giving up, any other timeout comes from the submit request
+    private void countTimeout(String language, ExecutionResult.TestCaseResult result) {
+        String error = result.getError();
+        if (error != null && error.toLowerCase().contains("timeout")) {
+            executionMetrics.timeout(language, error.startsWith("Execution timeout") ? "poll" : "submit");
+        }
+    }
+    
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
     }
     
     private boolean isRetryableError(String error) {
@@ -167,51 +278,51 @@ public class CodeExecutionService {
             if (languageId == null) {
                 result.setPassed(false);
                 result.setError("Unsupported language: " + language);
-                result.setExpected(testCase.getExpectedOutput());
+                result.setExpected(expectedPreview(testCase));
                 result.setActual("");
                 return result;
             }
             
-            // Prepare submission
-            Map<String, Object> submission = new HashMap<>();
-            submission.put("source_code", code);
-            submission.put("language_id", languageId);
-            submission.put("stdin", testCase.getInputData());
-            submission.put("cpu_time_limit", 3.0);
-            submission.put("wall_time_limit", 10.0);
-            submission.put("memory_limit", 256000);
-            submission.put("stack_limit", 128000);
-            
-            System.out.println("Submitting to Judge0...");
+            // Input is read from the mapped test data file, never copied into a String
+            ByteBuffer stdin = testDataStore.input(testCase);
             
             // Submit with automatic retry on failure
-            SubmissionResponse submissionResponse = webClient.post()
-                .uri("/submissions?base64_encoded=false&wait=false")
-                .header("Content-Type", "application/json")
-                .bodyValue(submission)
-                .retrieve()
-                .bodyToMono(SubmissionResponse.class)
-                .retryWhen(Retry.fixedDelay(2, Duration.ofMillis(500)))
-                .timeout(Duration.ofSeconds(5))
-                .block();
+            Timer.Sample submitSample = executionMetrics.start();
+            SubmissionResponse submissionResponse;
+            try {
+                submissionResponse = executionTracing.submit(() -> executionMetrics.judge0Request(() -> webClient.post()
+                    .uri("/submissions?base64_encoded=true&wait=false")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BodyInserters.fromDataBuffers(submissionBody(code, languageId, stdin)))
+                    .retrieve()
+                    .bodyToMono(SubmissionResponse.class)
+                    .retryWhen(Retry.fixedDelay(2, Duration.ofMillis(500)))
+                    .timeout(Duration.ofSeconds(5))
+                    .block()));
+            } catch (RuntimeException e) {
+                executionMetrics.submit(submitSample, language, isTimeout(e) ? "timeout" : "error");
+                throw e;
+            }
+            boolean accepted = submissionResponse != null && submissionResponse.token != null;
+            executionMetrics.submit(submitSample, language, accepted ? "accepted" : "rejected");
                 
-            if (submissionResponse == null || submissionResponse.token == null) {
+            if (!accepted) {
                 result.setPassed(false);
                 result.setError("Failed to submit to Judge0");
-                result.setExpected(testCase.getExpectedOutput());
+                result.setExpected(expectedPreview(testCase));
                 result.setActual("");
                 return result;
             }
             
-            System.out.println("Token: " + submissionResponse.token);
+            log.debug("Judge0 token {}", submissionResponse.token);
             
             // Poll for result
-            Judge0Result judge0Result = pollForResult(submissionResponse.token);
+            Judge0Result judge0Result = pollForResult(submissionResponse.token, language);
             
             if (judge0Result == null) {
                 result.setPassed(false);
                 result.setError("Execution timeout");
-                result.setExpected(testCase.getExpectedOutput());
+                result.setExpected(expectedPreview(testCase));
                 result.setActual("");
                 return result;
             }
@@ -220,64 +331,115 @@ public class CodeExecutionService {
             processResult(judge0Result, testCase, result);
             
         } catch (Exception e) {
-            System.err.println("Error: " + e.getMessage());
+            log.warn("Test case execution failed: {}", e.getMessage());
             result.setPassed(false);
             result.setError("Execution Error: " + e.getMessage());
-            result.setExpected(testCase.getExpectedOutput());
+            result.setExpected(expectedPreview(testCase));
             result.setActual("");
         }
         
         return result;
     }
     
-    private void processResult(Judge0Result judge0Result, TestCase testCase, ExecutionResult.TestCaseResult result) {
-        System.out.println("Status: " + judge0Result.status.description);
+    void processResult(Judge0Result judge0Result, TestCase testCase, ExecutionResult.TestCaseResult result)
+            throws IOException {
+        log.debug("Judge0 status: {}", judge0Result.status.description);
         
-        String expectedOutput = testCase.getExpectedOutput().trim();
+        // Compared byte for byte against the mapped expected output
+        ByteBuffer expectedOutput = testDataStore.expectedOutput(testCase);
         String actualOutput = "";
         
         if (judge0Result.status.id == 3) { // Accepted
-            actualOutput = judge0Result.stdout != null ? judge0Result.stdout.trim() : "";
-            result.setPassed(actualOutput.equals(expectedOutput));
+            ByteBuffer stdout = ByteBuffer.wrap(decode(judge0Result.stdout));
+            result.setPassed(OutputComparator.matchesTrimmed(expectedOutput, stdout));
+            actualOutput = OutputComparator.preview(stdout, OutputComparator.PREVIEW_BYTES);
             if (!result.isPassed()) {
                 result.setError("Wrong Answer");
             }
         } else if (judge0Result.status.id == 6) { // Compilation Error
             result.setPassed(false);
             result.setError("Compilation Error: " + 
-                (judge0Result.compileOutput != null ? judge0Result.compileOutput : "Unknown"));
+                (judge0Result.compileOutput != null ? decodeText(judge0Result.compileOutput) : "Unknown"));
         } else if (judge0Result.status.id == 5 || judge0Result.status.id == 13) { // TLE
             result.setPassed(false);
             result.setError("Time Limit Exceeded");
         } else if (judge0Result.status.id == 4) { // Wrong Answer
-            actualOutput = judge0Result.stdout != null ? judge0Result.stdout.trim() : "";
+            actualOutput = OutputComparator.preview(ByteBuffer.wrap(decode(judge0Result.stdout)), OutputComparator.PREVIEW_BYTES);
             result.setPassed(false);
             result.setError("Wrong Answer");
         } else { // Other runtime errors
             result.setPassed(false);
             result.setError("Runtime Error: " + judge0Result.status.description);
-            if (judge0Result.stderr != null && !judge0Result.stderr.trim().isEmpty()) {
-                result.setError(result.getError() + " - " + judge0Result.stderr.trim());
+            String stderr = decodeText(judge0Result.stderr);
+            if (!stderr.isEmpty()) {
+                result.setError(result.getError() + " - " + stderr);
             }
         }
         
-        result.setExpected(expectedOutput);
+        result.setExpected(OutputComparator.preview(expectedOutput, OutputComparator.PREVIEW_BYTES));
         result.setActual(actualOutput);
     }
     
-    private Judge0Result pollForResult(String token) {
+    // JSON body streamed in chunks so a large stdin is base64-encoded straight from the mapped file
+    private Flux<DataBuffer> submissionBody(String code, int languageId, ByteBuffer stdin) {
+        String head = "{\"source_code\":\"" +
+            Base64.getEncoder().encodeToString(code.getBytes(StandardCharsets.UTF_8)) + "\"," +
+            "\"language_id\":" + languageId + "," +
+            "\"cpu_time_limit\":3.0,\"wall_time_limit\":10.0," +
+            "\"memory_limit\":256000,\"stack_limit\":128000," +
+            "\"stdin\":\"";
+        DefaultDataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+        // Deferred so a retried request re-reads the input from the start
+        return Flux.defer(() -> {
+            int start = stdin.position();
+            int length = stdin.remaining();
+            int chunks = (length + STDIN_CHUNK_BYTES - 1) / STDIN_CHUNK_BYTES;
+            return Flux.concat(
+                Flux.just(buffers.wrap(head.getBytes(StandardCharsets.UTF_8))),
+                Flux.range(0, chunks).map(i -> {
+                    int offset = i * STDIN_CHUNK_BYTES;
+                    ByteBuffer chunk = stdin.slice(start + offset, Math.min(STDIN_CHUNK_BYTES, length - offset));
+                    return buffers.wrap(Base64.getEncoder().encode(chunk));
+                }),
+                Flux.just(buffers.wrap("\"}".getBytes(StandardCharsets.UTF_8))));
+        });
+    }
+    
+    private String expectedPreview(TestCase testCase) {
+        try {
+            return OutputComparator.preview(testDataStore.expectedOutput(testCase), OutputComparator.PREVIEW_BYTES);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+    
+    // Judge0 answers in base64 when asked to, with line breaks in the encoding
+    private static byte[] decode(String base64) {
+        return base64 == null ? new byte[0] : Base64.getMimeDecoder().decode(base64);
+    }
+    
+    private static String decodeText(String base64) {
+        return new String(decode(base64), StandardCharsets.UTF_8).trim();
+    }
+    
+    private Judge0Result pollForResult(String token, String language) {
         int maxAttempts = 25;
         
         for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            Timer.Sample pollSample = executionMetrics.start();
+            final int pollAttempt = attempt;
             try {
-                Judge0Result result = webClient.get()
-                    .uri("/submissions/" + token + "?base64_encoded=false&fields=*")
-                    .retrieve()
-                    .bodyToMono(Judge0Result.class)
-                    .timeout(Duration.ofSeconds(3))
-                    .block();
+                Judge0Result result = executionTracing.poll(token, pollAttempt, () -> executionMetrics.judge0Request(
+                    () -> webClient.get()
+                        .uri("/submissions/" + token + "?base64_encoded=true&fields=*")
+                        .retrieve()
+                        .bodyToMono(Judge0Result.class)
+                        .timeout(Duration.ofSeconds(3))
+                        .block()));
                 
-                if (result != null && result.status != null && result.status.id > 2) {
+                boolean done = result != null && result.status != null && result.status.id > 2;
+                executionMetrics.poll(pollSample, language, done ? "done" : "pending");
+                if (done) {
                     return result; // Done
                 }
                 
@@ -289,7 +451,8 @@ public class CodeExecutionService {
                 Thread.currentThread().interrupt();
                 break;
             } catch (Exception e) {
-                System.err.println("Poll error: " + e.getMessage());
+                executionMetrics.poll(pollSample, language, isTimeout(e) ? "timeout" : "error");
+                log.warn("Judge0 poll failed: {}", e.getMessage());
                 try {
                     TimeUnit.MILLISECONDS.sleep(500);
                 } catch (InterruptedException ie) {
@@ -302,6 +465,29 @@ public class CodeExecutionService {
         return null;
     }
     
+    private static class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        private final Priority priority;
+        private final long sequence;
+        private final Runnable task;
+        
+        PrioritizedTask(Priority priority, long sequence, Runnable task) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.task = task;
+        }
+        
+        @Override
+        public void run() {
+            task.run();
+        }
+        
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+    
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class SubmissionResponse {
         public String token;
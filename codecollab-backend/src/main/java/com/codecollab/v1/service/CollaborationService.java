@@ -0,0 +1,227 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.DocumentOperation;
+import com.codecollab.v1.dto.DocumentSyncResponse;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.repository.RoomRepository;
+import com.codecollab.v1.util.TextOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server side of the room editor. Every (room, docId) pair is an operational
+ * transform document with a server-assigned revision. Incoming operations are
+ * transformed against whatever the client had not seen yet, applied, logged and
+ * queued; queued operations are broadcast in one frame per document every flush.
+ * A snapshot is taken every SNAPSHOT_INTERVAL operations so late joiners replay
+ * at most a bounded op log.
+ *
+ * docId "main" is the shared room buffer. A docId equal to the author's username is
+ * that member's personal buffer and doubles as their draft for the round timer.
+ */
+@Service
+public class CollaborationService {
+
+    public static final String SHARED_DOCUMENT = "main";
+    private static final int SNAPSHOT_INTERVAL = 200;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+
+    @Autowired
+    private RoomDraftService draftService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, Map<String, RoomDocument>> documents = new ConcurrentHashMap<>();
+
+    public DocumentOperation receive(String roomCode, String docId, String username, DocumentOperation message) throws Exception {
+        RoomDocument document = openDocument(roomCode, docId, username);
+        TextOperation operation = TextOperation.fromJson(message.getOps());
+
+        DocumentOperation applied;
+        synchronized (document) {
+            if (message.getRevision() < document.logStartRevision || message.getRevision() > document.revision) {
+                throw new Exception("Revision " + message.getRevision() + " is out of range, resync required");
+            }
+
+            // Transform against every operation the client had not seen yet
+            for (DocumentOperation concurrent : document.log) {
+                if (concurrent.getRevision() > message.getRevision()) {
+                    operation = TextOperation.transform(operation, TextOperation.fromJson(concurrent.getOps()))[0];
+                }
+            }
+
+            document.text = operation.apply(document.text);
+            document.revision++;
+            if (message.getLanguage() != null) {
+                document.language = message.getLanguage();
+            }
+
+            applied = new DocumentOperation(document.revision, username, message.getClientSeq(), operation.toJson());
+            document.log.add(applied);
+            document.pending.add(applied);
+
+            if (document.revision - document.snapshotRevision >= SNAPSHOT_INTERVAL) {
+                takeSnapshot(document);
+            }
+
+            if (docId.equals(username)) {
+                draftService.saveDraft(roomCode, username, document.text, document.language);
+            }
+        }
+        return applied;
+    }
+
+    // Late joiners either get the latest snapshot plus the op log after it,
+    // or only the ops after their own revision if it is still covered by the log
+    public DocumentSyncResponse sync(String roomCode, String docId, String username, Integer sinceRevision) throws Exception {
+        RoomDocument document = openDocument(roomCode, docId, username);
+
+        synchronized (document) {
+            DocumentSyncResponse response = new DocumentSyncResponse();
+            response.setDocId(docId);
+            response.setLanguage(document.language);
+            response.setRevision(document.revision);
+
+            int from;
+            if (sinceRevision != null && sinceRevision >= document.logStartRevision && sinceRevision <= document.revision) {
+                from = sinceRevision;
+            } else {
+                from = document.snapshotRevision;
+                response.setSnapshotRevision(document.snapshotRevision);
+                response.setSnapshotText(document.snapshotText);
+            }
+
+            List<DocumentOperation> operations = new ArrayList<>();
+            for (DocumentOperation op : document.log) {
+                if (op.getRevision() > from) {
+                    operations.add(op);
+                }
+            }
+            response.setOperations(operations);
+            return response;
+        }
+    }
+
+    public Optional<String> currentText(String roomCode, String docId) {
+        Map<String, RoomDocument> roomDocuments = documents.get(roomCode.toUpperCase());
+        RoomDocument document = roomDocuments == null ? null : roomDocuments.get(docId);
+        if (document == null) {
+            return Optional.empty();
+        }
+        synchronized (document) {
+            return Optional.of(document.text);
+        }
+    }
+
+    public void closeRoom(String roomCode) {
+        documents.remove(roomCode.toUpperCase());
+    }
+
+    // Called when a member leaves or times out. Runs after the LEFT status commits, so a
+    // membership check that read the old JOINED row just before the commit is dropped too.
+    public void removeParticipant(String roomCode, String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dropParticipant(roomCode, username);
+                }
+            });
+        } else {
+            dropParticipant(roomCode, username);
+        }
+    }
+
+    private void dropParticipant(String roomCode, String username) {
+        Map<String, RoomDocument> roomDocuments = documents.get(roomCode.toUpperCase());
+        if (roomDocuments != null) {
+            roomDocuments.values().forEach(document -> document.participants.remove(username));
+        }
+    }
+
+    @Scheduled(fixedDelay = 50)
+    public void flushPendingOperations() {
+        documents.forEach((roomCode, roomDocuments) -> roomDocuments.forEach((docId, document) -> {
+            List<DocumentOperation> batch;
+            synchronized (document) {
+                if (document.pending.isEmpty()) {
+                    return;
+                }
+                batch = document.pending;
+                document.pending = new ArrayList<>();
+            }
+            messagingTemplate.convertAndSend("/topic/rooms/" + roomCode + "/documents/" + docId, batch);
+        }));
+    }
+
+    private RoomDocument openDocument(String roomCode, String docId, String username) throws Exception {
+        if (!SHARED_DOCUMENT.equals(docId) && !docId.equals(username)) {
+            throw new Exception("You can only edit the shared document or your own");
+        }
+        String code = roomCode.toUpperCase();
+        Map<String, RoomDocument> roomDocuments = documents.get(code);
+        RoomDocument document = roomDocuments == null ? null : roomDocuments.get(docId);
+
+        // Membership is checked against the DB once per user and document, not per keystroke;
+        // RoomService drops the user again through removeParticipant when they leave
+        if (document == null || !document.participants.contains(username)) {
+            verifyMember(code, username);
+            document = documents.computeIfAbsent(code, k -> new ConcurrentHashMap<>())
+                                .computeIfAbsent(docId, k -> new RoomDocument());
+            document.participants.add(username);
+        }
+        return document;
+    }
+
+    private void verifyMember(String roomCode, String username) throws Exception {
+        Room room = roomRepository.findByRoomCode(roomCode)
+            .orElseThrow(() -> new Exception("Room not found"));
+
+        boolean joined = roomMemberRepository.findByRoomAndStatus(room, RoomMember.MemberStatus.JOINED).stream()
+            .anyMatch(member -> member.getUser().getUsername().equals(username));
+        if (!joined) {
+            throw new Exception("You are not an active member of this room");
+        }
+    }
+
+    private void takeSnapshot(RoomDocument document) {
+        // Drop the ops covered by the previous snapshot, keep the ones after it
+        // so clients that are slightly behind can still catch up without a resync
+        int previousSnapshot = document.snapshotRevision;
+        document.log.removeIf(op -> op.getRevision() <= previousSnapshot);
+        document.logStartRevision = previousSnapshot;
+        document.snapshotRevision = document.revision;
+        document.snapshotText = document.text;
+    }
+
+    private static class RoomDocument {
+        private String text = "";
+        private int revision = 0;
+        private String language;
+        private String snapshotText = "";
+        private int snapshotRevision = 0;
+        private int logStartRevision = 0;
+        private final List<DocumentOperation> log = new ArrayList<>();
+        private List<DocumentOperation> pending = new ArrayList<>();
+        private final Set<String> participants = ConcurrentHashMap.newKeySet();
+    }
+}
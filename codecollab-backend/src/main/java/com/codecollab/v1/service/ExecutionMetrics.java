@@ -0,0 +1,115 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the Judge0 execution pipeline, scraped at /actuator/prometheus.
+ *
+ * Every stage of a test case has its own timer (health check, submit, queue wait,
+ * each poll, and the whole test case) so a slow submission shows where the time
+ * went. Timers under judge0.* and execution.* publish histogram buckets (see
+ * management.metrics.distribution in application.properties). Tag values are
+ * kept to small fixed sets: language, verdict, outcome and priority.
+ */
+@Component
+public class ExecutionMetrics {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final AtomicInteger activeJudge0Requests = new AtomicInteger();
+
+    public void bindExecutor(ThreadPoolExecutor executor) {
+        Gauge.builder("execution.executor.queue", executor, e -> e.getQueue().size())
+            .description("Test cases waiting for an execution thread")
+            .register(registry);
+        Gauge.builder("execution.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Execution threads running a test case")
+            .register(registry);
+        Gauge.builder("judge0.requests.active", activeJudge0Requests, AtomicInteger::get)
+            .description("HTTP requests to Judge0 in flight")
+            .register(registry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    // Wraps one blocking call to Judge0 so it is counted as in flight while it runs
+    public <T> T judge0Request(Supplier<T> request) {
+        activeJudge0Requests.incrementAndGet();
+        try {
+            return request.get();
+        } finally {
+            activeJudge0Requests.decrementAndGet();
+        }
+    }
+
+    public void healthCheck(Timer.Sample sample, String language, boolean up) {
+        sample.stop(registry.timer("judge0.health.check", "language", tag(language), "outcome", up ? "up" : "down"));
+    }
+
+    // outcome: accepted, rejected, error or timeout
+    public void submit(Timer.Sample sample, String language, String outcome) {
+        sample.stop(registry.timer("judge0.submit", "language", tag(language), "outcome", outcome));
+    }
+
+    // outcome: done, pending, error or timeout
+    public void poll(Timer.Sample sample, String language, String outcome) {
+        sample.stop(registry.timer("judge0.poll", "language", tag(language), "outcome", outcome));
+    }
+
+    public void queueWait(long nanos, String language, CodeExecutionService.Priority priority) {
+        registry.timer("execution.queue.wait", "language", tag(language), "priority", priority.name())
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void testCase(Timer.Sample sample, String language, ExecutionResult.TestCaseResult result) {
+        sample.stop(registry.timer("execution.test.case", "language", tag(language), "verdict", verdict(result)));
+    }
+
+    public void retry(String language) {
+        registry.counter("execution.retries", "language", tag(language)).increment();
+    }
+
+    // One per attempt that ended in a timeout. stage: submit, or poll when no verdict came in time
+    public void timeout(String language, String stage) {
+        registry.counter("execution.timeouts", "language", tag(language), "stage", stage).increment();
+    }
+
+    // Short verdict codes from the TestCaseResult error text
+    static String verdict(ExecutionResult.TestCaseResult result) {
+        if (result.isPassed()) {
+            return "AC";
+        }
+        String error = result.getError() == null ? "" : result.getError();
+        if (error.startsWith("Wrong Answer")) return "WA";
+        if (error.startsWith("Time Limit")) return "TLE";
+        if (error.startsWith("Compilation")) return "CE";
+        if (error.startsWith("Runtime")) return "RE";
+        if (error.startsWith("Execution timeout")) return "TIMEOUT";
+        return "ERROR";
+    }
+
+    // Unknown languages would otherwise create a series per typo
+    private static String tag(String language) {
+        if (language == null) {
+            return "unknown";
+        }
+        String lower = language.toLowerCase();
+        return switch (lower) {
+            case "cpp", "java", "python", "javascript" -> lower;
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.util.LogContext;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Spans for one code execution: a submission span, a child per test case (retries
+ * included), and under each test case a span per Judge0 submit and per poll attempt.
+ * The instrumented WebClient adds its HTTP client span below those and sends the
+ * traceparent header to Judge0.
+ *
+ * These are Micrometer observations used only for tracing. TracingConfig drops the
+ * timers they would create, ExecutionMetrics owns the metrics.
+ */
+@Component
+public class ExecutionTracing {
+
+    public static final String SPAN_PREFIX = "execution.span.";
+
+    @Autowired
+    private ObservationRegistry registry;
+
+    // The span a pool thread should attach to, captured on the submitting thread
+    public Observation current() {
+        return registry.getCurrentObservation();
+    }
+
+    public ExecutionResult submission(String language, CodeExecutionService.Priority priority, int testCases,
+                                      Supplier<ExecutionResult> body) {
+        Observation observation = Observation.createNotStarted(SPAN_PREFIX + "submission", registry)
+            .contextualName("submission")
+            .lowCardinalityKeyValue("language", String.valueOf(language))
+            .lowCardinalityKeyValue("priority", priority.name())
+            .highCardinalityKeyValue("test.cases", String.valueOf(testCases));
+        String submissionId = MDC.get(LogContext.SUBMISSION_ID);
+        if (submissionId != null) {
+            observation.highCardinalityKeyValue("submission.id", submissionId);
+        }
+        return observe(observation, body, "status", ExecutionResult::getStatus);
+    }
+
+    public ExecutionResult.TestCaseResult testCase(Observation parent, int index, TestCase testCase, long queueNanos,
+                                                   Supplier<ExecutionResult.TestCaseResult> body) {
+        Observation observation = Observation.createNotStarted(SPAN_PREFIX + "test.case", registry)
+            .parentObservation(parent)
+            .contextualName("test-case " + (index + 1))
+            .highCardinalityKeyValue("test.case.id", String.valueOf(testCase.getId()))
+            .highCardinalityKeyValue("queue.wait.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(queueNanos)));
+        return observe(observation, body, "verdict", ExecutionMetrics::verdict);
+    }
+
+    public CodeExecutionService.SubmissionResponse submit(Supplier<CodeExecutionService.SubmissionResponse> body) {
+        Observation observation = Observation.createNotStarted(SPAN_PREFIX + "judge0.submit", registry)
+            .contextualName("judge0 submit");
+        return observe(observation, body, "judge0.token",
+            response -> response == null || response.token == null ? "none" : response.token);
+    }
+
+    public CodeExecutionService.Judge0Result poll(String token, int attempt,
+                                                  Supplier<CodeExecutionService.Judge0Result> body) {
+        Observation observation = Observation.createNotStarted(SPAN_PREFIX + "judge0.poll", registry)
+            .contextualName("judge0 poll")
+            .highCardinalityKeyValue("judge0.token", token)
+            .highCardinalityKeyValue("attempt", String.valueOf(attempt + 1));
+        return observe(observation, body, "judge0.status",
+            result -> result == null || result.status == null ? "none" : result.status.description);
+    }
+
+    // Runs body inside the span, so WebClient calls and nested spans made on this thread become its children
+    private <T> T observe(Observation observation, Supplier<T> body, String key, Function<T, String> value) {
+        observation.start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            T result = body.get();
+            observation.highCardinalityKeyValue(key, String.valueOf(value.apply(result)));
+            return result;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.LeaderboardEntry;
+import com.codecollab.v1.dto.RoomEvent;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.repository.RoomRepository;
+import com.codecollab.v1.util.LeaderboardIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live per-room leaderboard held in memory for the duration of the room.
+ *
+ * Each improved round result (scored by RoundService) updates the member's
+ * standing in a LeaderboardIndex and only the rank changes it causes are pushed
+ * to /topic/rooms/{roomCode}. Score and rank are written back to room_members
+ * when a round ends, never during it. Room totals are the sums over rounds.
+ */
+@Service
+public class LeaderboardService {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    // Called when a round starts: folds the previous round into the totals and seeds new members
+    public void startRound(Room room, List<RoomMember> members) {
+        Board board = boards.computeIfAbsent(room.getRoomCode(), k -> new Board());
+        synchronized (board) {
+            board.roundOpen = true;
+            for (Standing standing : board.standings.values()) {
+                standing.committedScore += standing.roundScore;
+                standing.committedPenalty += standing.roundPenalty;
+                standing.roundScore = 0;
+                standing.roundPenalty = 0;
+            }
+            for (RoomMember member : members) {
+                standing(board, member);
+            }
+        }
+    }
+
+    public void recordRoundResult(Room room, RoomMember member, int roundScore, long roundPenalty, LocalDateTime achievedAt) {
+        Board board = boards.computeIfAbsent(room.getRoomCode(), k -> new Board());
+        List<LeaderboardIndex.Rank> changes;
+        synchronized (board) {
+            Standing standing = standing(board, member);
+            standing.roundScore = roundScore;
+            standing.roundPenalty = roundPenalty;
+            standing.lastImprovedAt = achievedAt;
+            changes = board.index.update(standing.username, standing.score(), standing.penalty());
+        }
+
+        if (!changes.isEmpty()) {
+            messagingTemplate.convertAndSend("/topic/rooms/" + room.getRoomCode(),
+                new RoomEvent("LEADERBOARD", room.getRoomCode(), member.getUser().getUsername(),
+                              changes.stream().map(LeaderboardEntry::fromRank).toList()));
+        }
+    }
+
+    public List<LeaderboardEntry> top(String roomCode, int limit) throws Exception {
+        String code = roomCode.toUpperCase();
+        Board board = boards.get(code);
+        if (board == null) {
+            // Only after a restart: rebuild once from the standings persisted at the last round end
+            Room room = roomRepository.findByRoomCode(code)
+                .orElseThrow(() -> new Exception("Room not found"));
+            board = boards.computeIfAbsent(code, k -> new Board());
+            synchronized (board) {
+                for (RoomMember member : roomMemberRepository.findRoomLeaderboard(room)) {
+                    standing(board, member);
+                }
+            }
+        }
+        synchronized (board) {
+            return board.index.top(limit).stream().map(LeaderboardEntry::fromRank).toList();
+        }
+    }
+
+    /**
+     * Closes the current round: persists the standings and, for tournament rooms,
+     * rates the players on the final order. A round is rated at most once even if
+     * several end paths (expiry, discussion, end) reach it.
+     */
+    @Transactional
+    public void finishRound(Room room) {
+        persist(room.getRoomCode());
+        Board board = boards.get(room.getRoomCode());
+        if (board == null || room.getMode() != Room.RoomMode.TOURNAMENT) {
+            return;
+        }
+
+        List<RatingService.Placement> placements = new ArrayList<>();
+        Map<Long, String> usernames = new HashMap<>();
+        synchronized (board) {
+            if (!board.roundOpen) {
+                return;
+            }
+            board.roundOpen = false;
+            for (LeaderboardIndex.Rank rank : board.index.top(board.index.size())) {
+                Standing standing = board.standings.get(rank.key());
+                placements.add(new RatingService.Placement(standing.userId, standing.username,
+                    standing.rating, rank.score(), rank.penalty()));
+                usernames.put(standing.userId, standing.username);
+            }
+        }
+
+        Map<Long, Integer> deltas = ratingService.applyTournamentResult(placements);
+        if (!deltas.isEmpty()) {
+            Map<String, Integer> changes = new LinkedHashMap<>();
+            deltas.forEach((userId, delta) -> changes.put(usernames.get(userId), delta));
+            messagingTemplate.convertAndSend("/topic/rooms/" + room.getRoomCode(),
+                new RoomEvent("RATINGS_UPDATED", room.getRoomCode(), null, changes));
+        }
+    }
+
+    // A paused round goes back to the lobby: keep what was scored but do not rate it
+    @Transactional
+    public void abandonRound(String roomCode) {
+        persist(roomCode);
+        Board board = boards.get(roomCode.toUpperCase());
+        if (board != null) {
+            synchronized (board) {
+                board.roundOpen = false;
+            }
+        }
+    }
+
+    // Writes score, rank and best submission time back in one pass when the round is over
+    @Transactional
+    public void persist(String roomCode) {
+        Board board = boards.get(roomCode.toUpperCase());
+        if (board == null) {
+            return;
+        }
+        Map<Long, Standing> snapshot = new HashMap<>();
+        Map<Long, Integer> ranks = new HashMap<>();
+        synchronized (board) {
+            for (Standing standing : board.standings.values()) {
+                snapshot.put(standing.memberId, standing.copy());
+                LeaderboardIndex.Rank rank = board.index.get(standing.username);
+                ranks.put(standing.memberId, rank != null ? rank.rank() : 0);
+            }
+        }
+        for (RoomMember member : roomMemberRepository.findAllById(snapshot.keySet())) {
+            Standing standing = snapshot.get(member.getId());
+            member.setScore(standing.score());
+            member.setRank(ranks.get(member.getId()));
+            if (standing.lastImprovedAt != null) {
+                member.setSubmissionTime(standing.lastImprovedAt);
+            }
+        }
+    }
+
+    public void closeRoom(String roomCode) {
+        boards.remove(roomCode.toUpperCase());
+    }
+
+    // Called with the board lock held
+    private Standing standing(Board board, RoomMember member) {
+        String username = member.getUser().getUsername();
+        Standing standing = board.standings.get(username);
+        if (standing == null) {
+            standing = new Standing(member.getId(), member.getUser().getId(), username,
+                member.getUser().getRating() != null ? member.getUser().getRating() : 1200);
+            standing.committedScore = member.getScore() != null ? member.getScore() : 0;
+            board.standings.put(username, standing);
+            board.index.update(username, standing.score(), standing.penalty());
+        }
+        return standing;
+    }
+
+    private static class Board {
+        private final LeaderboardIndex index = new LeaderboardIndex();
+        private final Map<String, Standing> standings = new HashMap<>();
+        private boolean roundOpen;
+    }
+
+    private static class Standing {
+        private final Long memberId;
+        private final Long userId;
+        private final String username;
+        private final int rating;
+        private int committedScore;
+        private long committedPenalty;
+        private int roundScore;
+        private long roundPenalty;
+        private LocalDateTime lastImprovedAt;
+
+        Standing(Long memberId, Long userId, String username, int rating) {
+            this.memberId = memberId;
+            this.userId = userId;
+            this.username = username;
+            this.rating = rating;
+        }
+
+        int score() { return committedScore + roundScore; }
+        long penalty() { return committedPenalty + roundPenalty; }
+
+        Standing copy() {
+            Standing copy = new Standing(memberId, userId, username, rating);
+            copy.committedScore = committedScore;
+            copy.committedPenalty = committedPenalty;
+            copy.roundScore = roundScore;
+            copy.roundPenalty = roundPenalty;
+            copy.lastImprovedAt = lastImprovedAt;
+            return copy;
+        }
+    }
+}
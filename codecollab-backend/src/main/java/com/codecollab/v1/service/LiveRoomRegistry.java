@@ -0,0 +1,74 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the rooms with a round in progress: which problem is being
+ * solved and who may submit. RoomService keeps it in step with every round and
+ * membership change, so the submit path can validate without a query.
+ */
+@Service
+public class LiveRoomRegistry {
+    
+    private final Map<String, LiveRoom> rooms = new ConcurrentHashMap<>();
+    
+    public void open(Room room, List<RoomMember> members) {
+        LiveRoom live = new LiveRoom(room.getId(), room.getRoomCode(),
+            room.getCurrentProblem() != null ? room.getCurrentProblem().getId() : null);
+        for (RoomMember member : members) {
+            live.members.put(member.getUser().getUsername(), member.getId());
+        }
+        rooms.put(room.getRoomCode(), live);
+    }
+    
+    public void close(String roomCode) {
+        rooms.remove(roomCode.toUpperCase());
+    }
+    
+    // No-op unless a round is running in the room
+    public void addMember(String roomCode, String username, Long memberId) {
+        LiveRoom live = rooms.get(roomCode.toUpperCase());
+        if (live != null) {
+            live.members.put(username, memberId);
+        }
+    }
+    
+    public void removeMember(String roomCode, String username) {
+        LiveRoom live = rooms.get(roomCode.toUpperCase());
+        if (live != null) {
+            live.members.remove(username);
+        }
+    }
+    
+    public Optional<LiveRoom> get(String roomCode) {
+        return Optional.ofNullable(rooms.get(roomCode.toUpperCase()));
+    }
+    
+    public static class LiveRoom {
+        private final Long roomId;
+        private final String roomCode;
+        private final Long problemId;
+        private final Map<String, Long> members = new ConcurrentHashMap<>();
+        
+        LiveRoom(Long roomId, String roomCode, Long problemId) {
+            this.roomId = roomId;
+            this.roomCode = roomCode;
+            this.problemId = problemId;
+        }
+        
+        public Long getRoomId() { return roomId; }
+        public String getRoomCode() { return roomCode; }
+        public Long getProblemId() { return problemId; }
+        
+        public Optional<Long> memberId(String username) {
+            return Optional.ofNullable(members.get(username));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.util.AttemptThrottle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Runs BCrypt on the bounded passwordHashingExecutor instead of the Tomcat
+ * request thread, so a login storm queues behind a core-sized pool and gets
+ * 503s once the queue is full rather than eating the CPU the room and code
+ * execution endpoints need. Also owns the per-IP, per-(IP, username) and
+ * per-username throttles that are checked before any hashing happens.
+ */
+@Service
+public class PasswordHashingService {
+    
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ThreadPoolTaskExecutor hashingExecutor;
+
+    @Value("${auth.hashing.wait-seconds:10}")
+    private long waitSeconds;
+
+    @Value("${auth.throttle.ip.max-attempts:30}")
+    private int ipMaxAttempts;
+
+    @Value("${auth.throttle.ip.window-seconds:60}")
+    private long ipWindowSeconds;
+
+    @Value("${auth.throttle.user.max-failures:5}")
+    private int userMaxFailures;
+
+    @Value("${auth.throttle.user.window-seconds:300}")
+    private long userWindowSeconds;
+
+    @Value("${auth.throttle.user.global-max-failures:100}")
+    private int globalMaxFailures;
+
+    @Value("${auth.throttle.user.global-window-seconds:900}")
+    private long globalWindowSeconds;
+
+    @Value("${auth.throttle.max-keys:100000}")
+    private int maxKeys;
+
+    private AttemptThrottle ipThrottle;
+    private AttemptThrottle clientUserThrottle;
+    private AttemptThrottle globalUserThrottle;
+
+    @PostConstruct
+    public void init() {
+        ipThrottle = new AttemptThrottle(ipMaxAttempts, ipWindowSeconds * 1000, maxKeys);
+        clientUserThrottle = new AttemptThrottle(userMaxFailures, userWindowSeconds * 1000, maxKeys);
+        globalUserThrottle = new AttemptThrottle(globalMaxFailures, globalWindowSeconds * 1000, maxKeys);
+    }
+
+    // Every login and register attempt from an address counts
+    public void checkClient(String clientIp) {
+        if (clientIp != null && !ipThrottle.tryAcquire(clientIp)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, try again later");
+        }
+    }
+
+    // Only failed logins count. The strict limit is per (address, username), so guessing from one
+    // address cannot lock the owner out from another; the per-username limit is a high ceiling that
+    // only a guess spread over many addresses reaches.
+    public void checkUser(String clientIp, String username) {
+        if (!clientUserThrottle.isAllowed(key(clientIp, username)) || !globalUserThrottle.isAllowed(key(username))) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many failed logins, try again later");
+        }
+    }
+
+    public void recordFailure(String clientIp, String username) {
+        clientUserThrottle.record(key(clientIp, username));
+        globalUserThrottle.record(key(username));
+    }
+
+    // A made-up username has no owner to protect, and counting it per username would let
+    // a flood of them fill the ceiling's table for free
+    public void recordUnknownUser(String clientIp, String username) {
+        clientUserThrottle.record(key(clientIp, username));
+    }
+
+    public void recordSuccess(String clientIp, String username) {
+        clientUserThrottle.reset(key(clientIp, username));
+    }
+
+    public String encode(String rawPassword) {
+        return await(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return await(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    /**
+     * Re-encodes with the configured cost when the stored hash was made with a
+     * lower one. Runs in the background after the login has been answered; if
+     * the pool is busy it is simply tried again on the next login.
+     */
+    public void rehashIfNeeded(String rawPassword, String passwordHash, Consumer<String> store) {
+        if (!passwordEncoder.upgradeEncoding(passwordHash)) {
+            return;
+        }
+        try {
+            hashingExecutor.execute(() -> store.accept(passwordEncoder.encode(rawPassword)));
+        } catch (TaskRejectedException e) {
+            log.info("Hashing pool busy, password rehash postponed");
+        }
+    }
+
+    private <T> T await(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = hashingExecutor.submit(hashing);
+        } catch (TaskRejectedException e) {
+            throw busy();
+        }
+        try {
+            return future.get(waitSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, try again shortly");
+    }
+
+    private static String key(String username) {
+        return username == null ? "" : username.toLowerCase();
+    }
+
+    private static String key(String clientIp, String username) {
+        return (clientIp == null ? "" : clientIp) + "|" + key(username);
+    }
+}
@@ -0,0 +1,186 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.RoomEvent;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.util.HierarchicalTimingWheel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heartbeat based presence for room members, kept entirely in memory.
+ *
+ * Every heartbeat re-arms a timeout on a timing wheel. A member who misses it is
+ * DISCONNECTED (the host role moves on), and a member who stays away for the
+ * grace period is LEFT. Transitions are collected and written in one bulk
+ * update per flush instead of one write per event.
+ */
+@Service
+public class PresenceService {
+    
+    private static final Logger log = LoggerFactory.getLogger(PresenceService.class);
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${presence.heartbeat-timeout-ms:30000}")
+    private long heartbeatTimeoutMs;
+
+    @Value("${presence.grace-period-ms:120000}")
+    private long gracePeriodMs;
+
+    // 1s ticks, 64 slots, 3 levels: ~72 hours of range
+    private final HierarchicalTimingWheel wheel =
+        new HierarchicalTimingWheel("presence", 1000, 64, 3, Runnable::run);
+
+    private final Map<String, Presence> presences = new ConcurrentHashMap<>();
+    private final Map<Long, RoomMember.MemberStatus> pendingChanges = new ConcurrentHashMap<>();
+    private final Set<String> activeRooms = ConcurrentHashMap.newKeySet();
+
+    public void heartbeat(String roomCode, User user) {
+        String key = key(roomCode, user.getUsername());
+        Presence presence = presences.get(key);
+
+        if (presence == null) {
+            // First heartbeat since join or restart, one lookup to learn the member id
+            Optional<RoomMember> member = roomService.findMembership(roomCode, user);
+            if (member.isEmpty() || member.get().getStatus() == RoomMember.MemberStatus.LEFT) {
+                return;
+            }
+            presence = presences.computeIfAbsent(key, k -> new Presence(member.get().getId(),
+                roomCode.toUpperCase(), user.getUsername(), member.get().getStatus()));
+        }
+
+        activeRooms.add(presence.roomCode);
+        synchronized (presence) {
+            if (presence.status == RoomMember.MemberStatus.LEFT) {
+                return;
+            }
+            if (presence.status == RoomMember.MemberStatus.DISCONNECTED) {
+                transition(presence, RoomMember.MemberStatus.JOINED);
+            }
+            rearm(presence, heartbeatTimeoutMs);
+        }
+    }
+
+    public void forget(String roomCode, String username) {
+        Presence presence = presences.remove(key(roomCode, username));
+        if (presence != null) {
+            synchronized (presence) {
+                presence.status = RoomMember.MemberStatus.LEFT;
+                if (presence.timeout != null) presence.timeout.cancel();
+                pendingChanges.remove(presence.memberId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${presence.flush-interval-ms:5000}")
+    public void flush() {
+        // Rooms with heartbeats since the last flush get last_activity bumped in one update
+        if (!activeRooms.isEmpty()) {
+            List<String> roomCodes = new ArrayList<>(activeRooms);
+            activeRooms.removeAll(roomCodes);
+            try {
+                roomService.touchRooms(roomCodes);
+            } catch (Exception e) {
+                log.warn("Room activity flush failed: {}", e.getMessage());
+            }
+        }
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        Map<Long, RoomMember.MemberStatus> batch = new HashMap<>();
+        for (Long memberId : pendingChanges.keySet()) {
+            RoomMember.MemberStatus status = pendingChanges.remove(memberId);
+            if (status != null) batch.put(memberId, status);
+        }
+        try {
+            roomService.applyPresenceChanges(batch);
+        } catch (Exception e) {
+            log.warn("Presence flush failed, retrying next cycle: {}", e.getMessage());
+            batch.forEach(pendingChanges::putIfAbsent);
+        }
+    }
+
+    private void onHeartbeatMissed(Presence presence, long generation) {
+        synchronized (presence) {
+            if (presence.generation != generation || presence.status != RoomMember.MemberStatus.JOINED) {
+                return;
+            }
+            transition(presence, RoomMember.MemberStatus.DISCONNECTED);
+            rearm(presence, gracePeriodMs);
+        }
+    }
+
+    private void onGracePeriodOver(Presence presence, long generation) {
+        synchronized (presence) {
+            if (presence.generation != generation || presence.status != RoomMember.MemberStatus.DISCONNECTED) {
+                return;
+            }
+            transition(presence, RoomMember.MemberStatus.LEFT);
+            presences.remove(key(presence.roomCode, presence.username), presence);
+        }
+    }
+
+    // Called with the presence lock held
+    private void transition(Presence presence, RoomMember.MemberStatus status) {
+        presence.status = status;
+        pendingChanges.put(presence.memberId, status);
+        messagingTemplate.convertAndSend("/topic/rooms/" + presence.roomCode,
+            new RoomEvent("PRESENCE", presence.roomCode, presence.username, status));
+    }
+
+    // Called with the presence lock held
+    private void rearm(Presence presence, long delayMs) {
+        if (presence.timeout != null) {
+            presence.timeout.cancel();
+        }
+        long generation = ++presence.generation;
+        presence.timeout = wheel.schedule(delayMs, presence.status == RoomMember.MemberStatus.JOINED
+            ? () -> onHeartbeatMissed(presence, generation)
+            : () -> onGracePeriodOver(presence, generation));
+    }
+
+    private static String key(String roomCode, String username) {
+        return roomCode.toUpperCase() + ":" + username;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.shutdown();
+        flush();
+    }
+
+    private static class Presence {
+        private final Long memberId;
+        private final String roomCode;
+        private final String username;
+        private RoomMember.MemberStatus status;
+        private HierarchicalTimingWheel.Timeout timeout;
+        private long generation;
+
+        Presence(Long memberId, String roomCode, String username, RoomMember.MemberStatus status) {
+            this.memberId = memberId;
+            this.roomCode = roomCode;
+            this.username = username;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ProblemSummary;
+import com.codecollab.v1.entity.Problem;
+import com.codecollab.v1.repository.ProblemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable snapshot of the problem list, rebuilt from one projection query
+ * whenever a problem is written. List requests are answered from the snapshot
+ * without touching the database, and the ETag lets clients skip the body
+ * entirely while the catalog is unchanged.
+ */
+@Service
+public class ProblemCatalog {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProblemCatalog.class);
+
+    @Autowired
+    private ProblemRepository problemRepository;
+
+    private volatile Snapshot snapshot;
+
+    // After DataInitializer has seeded the problems
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        List<ProblemSummary> all = problemRepository.findAllSummaries();
+        snapshot = new Snapshot(all,
+            all.stream().collect(Collectors.groupingBy(ProblemSummary::getDifficulty)),
+            all.stream().collect(Collectors.groupingBy(ProblemSummary::getCategory)),
+            all.stream().collect(Collectors.toMap(ProblemSummary::getId, Function.identity())),
+            etag(all));
+        log.info("Problem catalog loaded: {} problems, ETag {}", all.size(), snapshot.etag());
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static String etag(List<ProblemSummary> problems) {
+        CRC32 crc = new CRC32();
+        for (ProblemSummary p : problems) {
+            String row = p.getId() + "|" + p.getTitle() + "|" + p.getDifficulty() + "|" + p.getCategory()
+                + "|" + Objects.hashCode(p.getDescription()) + "|" + p.getTimeLimitMs() + "|" + p.getMemoryLimitMb() + "\n";
+            crc.update(row.getBytes(StandardCharsets.UTF_8));
+        }
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + problems.size() + "\"";
+    }
+
+    public record Snapshot(List<ProblemSummary> all,
+                           Map<Problem.Difficulty, List<ProblemSummary>> byDifficulty,
+                           Map<String, List<ProblemSummary>> byCategory,
+                           Map<Long, ProblemSummary> byId,
+                           String etag) {
+
+        public List<ProblemSummary> withDifficulty(Problem.Difficulty difficulty) {
+            return byDifficulty.getOrDefault(difficulty, List.of());
+        }
+
+        public List<ProblemSummary> inCategory(String category) {
+            return byCategory.getOrDefault(category, List.of());
+        }
+    }
+}
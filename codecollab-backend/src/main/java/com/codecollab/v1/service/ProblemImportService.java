@@ -0,0 +1,271 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ImportReport;
+import com.codecollab.v1.dto.ProblemDefinition;
+import com.codecollab.v1.entity.Problem;
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.util.ContentAddressedStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Bulk import of problems and their tests from a zip archive, read as a stream:
+ *
+ *   problems/two-sum/problem.json       (fields of ProblemDefinition)
+ *   problems/two-sum/tests/sample1.in   (tests named sample* are samples)
+ *   problems/two-sum/tests/sample1.out
+ *   problems/two-sum/tests/big.in ...
+ *
+ * Test files go straight from the zip stream into TestDataStore, so the heap
+ * only ever holds one problem.json and the hashes of the problems not yet
+ * written. A problem's files must be contiguous in the archive (as zip -r
+ * writes them). Problems are persisted in batches, one transaction each, with
+ * the persistence context flushed and cleared every FLUSH_INTERVAL test cases
+ * so Hibernate sends the inserts as JDBC batches (sequence ids, ordered
+ * inserts). Invalid problems are skipped and reported.
+ */
+@Service
+public class ProblemImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProblemImportService.class);
+
+    private static final int MAX_DEFINITION_BYTES = 1024 * 1024;
+    // Flush/clear interval for test case rows, a multiple of hibernate.jdbc.batch_size
+    private static final int FLUSH_INTERVAL = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestDataStore testDataStore;
+
+    @Autowired
+    private ProblemCatalog problemCatalog;
+
+    @Autowired
+    private ProblemSearchService problemSearchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${problems.import.batch-size:200}")
+    private int batchSize;
+
+    public ImportReport importArchive(InputStream archive) throws IOException {
+        long started = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        Map<String, PendingProblem> pending = new LinkedHashMap<>();
+        Set<String> finished = new HashSet<>();
+        List<PendingProblem> batch = new ArrayList<>();
+        String current = null;
+
+        ZipInputStream zip = new ZipInputStream(new BufferedInputStream(archive));
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            EntryName name = EntryName.parse(entry.getName());
+            if (name == null) {
+                report.error("Ignored " + entry.getName());
+                continue;
+            }
+            if (!name.problem().equals(current)) {
+                // A stray file of a problem already handed to a batch is skipped, the current problem carries on
+                if (finished.contains(name.problem())) {
+                    report.error("Ignored " + entry.getName() + ": files of a problem must be contiguous");
+                    continue;
+                }
+                if (current != null) {
+                    finished.add(current);
+                    batch.add(pending.remove(current));
+                    if (batch.size() >= batchSize) {
+                        writeBatch(batch, report);
+                        batch.clear();
+                    }
+                }
+                current = name.problem();
+            }
+
+            PendingProblem problem = pending.computeIfAbsent(name.problem(), PendingProblem::new);
+            switch (name.kind()) {
+                case DEFINITION -> problem.definition = readDefinition(zip, problem);
+                case INPUT -> problem.inputs.put(name.test(), testDataStore.store(zip));
+                case OUTPUT -> problem.outputs.put(name.test(), testDataStore.store(zip));
+            }
+        }
+        batch.addAll(pending.values());
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            writeBatch(batch.subList(from, Math.min(from + batchSize, batch.size())), report);
+        }
+
+        problemCatalog.refresh();
+        report.setDurationMs(System.currentTimeMillis() - started);
+        log.info("Problem import finished: {} problems, {} test cases, {} skipped in {}ms",
+                 report.getProblemsImported(), report.getTestCasesImported(), report.getProblemsSkipped(),
+                 report.getDurationMs());
+        return report;
+    }
+
+    private ProblemDefinition readDefinition(InputStream zip, PendingProblem problem) throws IOException {
+        byte[] json = zip.readNBytes(MAX_DEFINITION_BYTES + 1);
+        if (json.length > MAX_DEFINITION_BYTES) {
+            problem.invalid = "problem.json is larger than 1 MB";
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, ProblemDefinition.class);
+        } catch (JsonProcessingException e) {
+            problem.invalid = "problem.json is not valid: " + e.getOriginalMessage();
+            return null;
+        }
+    }
+
+    private void writeBatch(List<PendingProblem> batch, ImportReport report) {
+        List<Problem> saved = new ArrayList<>();
+        Integer testCases = new TransactionTemplate(transactionManager).execute(status -> {
+            int written = 0;
+            for (PendingProblem pending : batch) {
+                String error = validate(pending);
+                if (error != null) {
+                    report.skip(pending.name, error);
+                    continue;
+                }
+                Problem problem = pending.definition.toProblem();
+                entityManager.persist(problem);
+                saved.add(problem);
+
+                int points = pending.definition.getPoints() != null ? pending.definition.getPoints() : 10;
+                for (Map.Entry<String, ContentAddressedStore.Blob> input : pending.inputs.entrySet()) {
+                    ContentAddressedStore.Blob output = pending.outputs.get(input.getKey());
+                    TestCase testCase = new TestCase();
+                    // A clear below may have detached the problem, a reference needs no select
+                    testCase.setProblem(entityManager.getReference(Problem.class, problem.getId()));
+                    testCase.setInputHash(input.getValue().hash());
+                    testCase.setInputBytes(input.getValue().length());
+                    testCase.setOutputHash(output.hash());
+                    testCase.setOutputBytes(output.length());
+                    testCase.setIsSample(input.getKey().startsWith("sample"));
+                    testCase.setPoints(points);
+                    entityManager.persist(testCase);
+                    if (++written % FLUSH_INTERVAL == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return written;
+        });
+
+        saved.forEach(problemSearchService::index);
+        report.addImported(saved.size(), testCases);
+    }
+
+    private static String validate(PendingProblem pending) {
+        if (pending.invalid != null) {
+            return pending.invalid;
+        }
+        ProblemDefinition definition = pending.definition;
+        if (definition == null) {
+            return "problem.json is missing";
+        }
+        if (blank(definition.getTitle()) || definition.getTitle().trim().length() > 200) {
+            return "title is required and at most 200 characters";
+        }
+        if (blank(definition.getCategory()) || definition.getCategory().trim().length() > 50) {
+            return "category is required and at most 50 characters";
+        }
+        if (blank(definition.getDifficulty())) {
+            return "difficulty is required";
+        }
+        try {
+            Problem.Difficulty.valueOf(definition.getDifficulty().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "unknown difficulty " + definition.getDifficulty();
+        }
+        if (blank(definition.getDescription()) || blank(definition.getInputFormat()) || blank(definition.getOutputFormat())
+                || blank(definition.getSampleInput()) || blank(definition.getSampleOutput())) {
+            return "description, inputFormat, outputFormat, sampleInput and sampleOutput are required";
+        }
+        if ((definition.getTimeLimitMs() != null && definition.getTimeLimitMs() <= 0)
+                || (definition.getMemoryLimitMb() != null && definition.getMemoryLimitMb() <= 0)
+                || (definition.getPoints() != null && definition.getPoints() < 0)) {
+            return "limits and points must be positive";
+        }
+        if (pending.inputs.isEmpty()) {
+            return "no tests";
+        }
+        if (!pending.inputs.keySet().equals(pending.outputs.keySet())) {
+            return "every test needs both a .in and a .out file";
+        }
+        return null;
+    }
+
+    private static boolean blank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class PendingProblem {
+        private final String name;
+        private ProblemDefinition definition;
+        private String invalid;
+        // Sorted so tests are inserted in name order
+        private final Map<String, ContentAddressedStore.Blob> inputs = new TreeMap<>();
+        private final Map<String, ContentAddressedStore.Blob> outputs = new TreeMap<>();
+
+        PendingProblem(String name) {
+            this.name = name;
+        }
+    }
+
+    private enum EntryKind { DEFINITION, INPUT, OUTPUT }
+
+    private record EntryName(String problem, EntryKind kind, String test) {
+
+        // [problems/]<problem>/problem.json or [problems/]<problem>/tests/<test>.in|.out
+        static EntryName parse(String path) {
+            String[] parts = path.replace('\\', '/').split("/");
+            int start = parts.length > 0 && parts[0].equals("problems") ? 1 : 0;
+            int length = parts.length - start;
+            if (length == 2 && parts[start + 1].equals("problem.json")) {
+                return new EntryName(parts[start], EntryKind.DEFINITION, null);
+            }
+            if (length == 3 && parts[start + 1].equals("tests")) {
+                String file = parts[start + 2];
+                if (file.endsWith(".in") && file.length() > 3) {
+                    return new EntryName(parts[start], EntryKind.INPUT, file.substring(0, file.length() - 3));
+                }
+                if (file.endsWith(".out") && file.length() > 4) {
+                    return new EntryName(parts[start], EntryKind.OUTPUT, file.substring(0, file.length() - 4));
+                }
+            }
+            return null;
+        }
+    }
+}
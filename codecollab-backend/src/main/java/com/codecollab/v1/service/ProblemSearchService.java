@@ -0,0 +1,70 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ProblemSearchResponse;
+import com.codecollab.v1.dto.ProblemSummary;
+import com.codecollab.v1.entity.Problem;
+import com.codecollab.v1.repository.ProblemRepository;
+import com.codecollab.v1.util.ProblemSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Problem search served from an in-memory ProblemSearchIndex. The index is
+ * built once at startup and then updated one problem at a time on save; hits
+ * are rendered from the ProblemCatalog snapshot, so a search never queries
+ * the database.
+ */
+@Service
+public class ProblemSearchService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProblemSearchService.class);
+
+    @Autowired
+    private ProblemRepository problemRepository;
+
+    @Autowired
+    private ProblemCatalog problemCatalog;
+
+    private final ProblemSearchIndex index = new ProblemSearchIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        for (Problem problem : problemRepository.findAll()) {
+            index(problem);
+        }
+        log.info("Problem search index built: {} problems", index.size());
+    }
+
+    public void index(Problem problem) {
+        index.put(new ProblemSearchIndex.Document(problem.getId(), problem.getTitle(),
+            problem.getDifficulty() != null ? problem.getDifficulty().name() : null,
+            problem.getCategory(), problem.getDescription()));
+    }
+
+    public ProblemSearchResponse search(String query, Problem.Difficulty difficulty, String category, int limit) {
+        ProblemSearchIndex.Result result = index.search(query,
+            difficulty != null ? difficulty.name() : null, category, Math.max(1, Math.min(limit, 100)));
+
+        ProblemCatalog.Snapshot catalog = problemCatalog.current();
+        List<ProblemSummary> problems = new ArrayList<>(result.hits().size());
+        for (ProblemSearchIndex.Hit hit : result.hits()) {
+            ProblemSummary summary = catalog.byId().get(hit.id());
+            if (summary != null) {
+                problems.add(summary);
+            }
+        }
+        return new ProblemSearchResponse(problems, result.total(),
+            result.difficultyFacets(), result.categoryFacets());
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.max(1, Math.min(limit, 20)));
+    }
+}
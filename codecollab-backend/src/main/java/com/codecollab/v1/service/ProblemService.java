@@ -1,12 +1,18 @@
 package com.codecollab.v1.service;
 
+import com.codecollab.v1.dto.ProblemSearchResponse;
+import com.codecollab.v1.dto.TestCaseContent;
 import com.codecollab.v1.entity.Problem;
 import com.codecollab.v1.entity.TestCase;
 import com.codecollab.v1.repository.ProblemRepository;
 import com.codecollab.v1.repository.TestCaseRepository;
+import com.codecollab.v1.util.OutputComparator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,31 +25,82 @@ public class ProblemService {
     @Autowired
     private TestCaseRepository testCaseRepository;
     
-    public List<Problem> getAllProblems() {
-        return problemRepository.findAll();
+    @Autowired
+    private ProblemCatalog problemCatalog;
+    
+    @Autowired
+    private ProblemSearchService problemSearchService;
+    
+    @Autowired
+    private TestSetCache testSetCache;
+    
+    @Autowired
+    private TestDataStore testDataStore;
+    
+    public ProblemSearchResponse searchProblems(String query, Problem.Difficulty difficulty, String category, int limit) {
+        return problemSearchService.search(query, difficulty, category, limit);
     }
     
-    public Optional<Problem> getProblemById(Long id) {
-        return problemRepository.findById(id);
+    public List<String> suggestSearchTerms(String prefix, int limit) {
+        return problemSearchService.suggest(prefix, limit);
     }
     
-    public List<Problem> getProblemsByDifficulty(Problem.Difficulty difficulty) {
-        return problemRepository.findByDifficulty(difficulty);
+    public ProblemCatalog.Snapshot getCatalog() {
+        return problemCatalog.current();
     }
     
-    public List<Problem> getProblemsByCategory(String category) {
-        return problemRepository.findByCategory(category);
+    public Optional<Problem> getProblemById(Long id) {
+        return problemRepository.findById(id);
     }
     
+    // Served from TestSetCache, the lists are shared and must not be modified
     public List<TestCase> getTestCases(Long problemId) {
-        return testCaseRepository.findByProblemId(problemId);
+        return testSetCache.get(problemId).all();
     }
     
     public List<TestCase> getSampleTestCases(Long problemId) {
-        return testCaseRepository.findByProblemIdAndIsSample(problemId, true);
+        return testSetCache.get(problemId).samples();
+    }
+    
+    // For clients: the test data itself rather than the store keys on the rows
+    public List<TestCaseContent> getTestCaseContents(Long problemId) {
+        return toContents(getTestCases(problemId));
+    }
+    
+    public List<TestCaseContent> getSampleTestCaseContents(Long problemId) {
+        return toContents(getSampleTestCases(problemId));
+    }
+    
+    private List<TestCaseContent> toContents(List<TestCase> testCases) {
+        List<TestCaseContent> contents = new ArrayList<>(testCases.size());
+        try {
+            for (TestCase testCase : testCases) {
+                contents.add(new TestCaseContent(testCase.getId(),
+                    OutputComparator.preview(testDataStore.input(testCase), OutputComparator.PREVIEW_BYTES),
+                    OutputComparator.preview(testDataStore.expectedOutput(testCase), OutputComparator.PREVIEW_BYTES),
+                    testCase.getIsSample(), testCase.getPoints()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Test data could not be read", e);
+        }
+        return contents;
+    }
+    
+    public boolean problemExists(Long problemId) {
+        return getCatalog().byId().containsKey(problemId);
+    }
+    
+    public TestCase saveTestCase(TestCase testCase) {
+        TestCase saved = testCaseRepository.save(testCase);
+        testSetCache.invalidate(saved.getProblem().getId());
+        return saved;
     }
     
     public Problem saveProblem(Problem problem) {
-        return problemRepository.save(problem);
+        Problem saved = problemRepository.save(problem);
+        problemCatalog.refresh();
+        problemSearchService.index(saved);
+        testSetCache.invalidate(saved.getId());
+        return saved;
     }
 }
\ No newline at end of file
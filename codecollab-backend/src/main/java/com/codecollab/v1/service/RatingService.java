@@ -0,0 +1,144 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.UserRepository;
+import com.codecollab.v1.util.RatingIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-player ELO for tournament rounds.
+ *
+ * Every pair of participants is scored as a head-to-head game decided by the
+ * final room standings (a tie when score and penalty are equal). A participant's
+ * change is K times the sum of (actual - expected) over the field, averaged over
+ * the n - 1 opponents. All changes are written in one JDBC batch and mirrored in
+ * the in-memory RatingIndex that serves the global ladder once that batch commits.
+ */
+@Service
+public class RatingService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RatingService.class);
+
+    private static final int K_FACTOR = 32;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserCache userCache;
+
+    private final RatingIndex ratingIndex = new RatingIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRatings() {
+        for (UserRepository.UserRating user : userRepository.findAllRatings()) {
+            ratingIndex.put(user.getId(), user.getUsername(), user.getRating() != null ? user.getRating() : 1200);
+        }
+        log.info("Rating ladder loaded: {} users", ratingIndex.size());
+    }
+
+    public void track(User user) {
+        ratingIndex.put(user.getId(), user.getUsername(), user.getRating() != null ? user.getRating() : 1200);
+    }
+
+    // Placements must be in final standing order, returns the rating change per user id
+    @Transactional
+    public Map<Long, Integer> applyTournamentResult(List<Placement> placements) {
+        Map<Long, Integer> deltas = computeDeltas(placements);
+        if (deltas.isEmpty()) {
+            return deltas;
+        }
+
+        // Relative updates, so rooms finishing at the same time cannot overwrite each other
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((userId, delta) -> batch.add(new Object[] { delta, userId }));
+        jdbcTemplate.batchUpdate("UPDATE users SET rating = rating + ? WHERE id = ?", batch);
+        userCache.invalidateAll(deltas.keySet());
+
+        // The ladder must not show ratings a rollback would take back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    updateIndex(placements, deltas);
+                }
+            });
+        } else {
+            updateIndex(placements, deltas);
+        }
+        log.info("Ratings updated for {} players", deltas.size());
+        return deltas;
+    }
+
+    private void updateIndex(List<Placement> placements, Map<Long, Integer> deltas) {
+        for (Placement placement : placements) {
+            Integer current = ratingIndex.rating(placement.userId());
+            int base = current != null ? current : placement.rating();
+            ratingIndex.put(placement.userId(), placement.username(), base + deltas.get(placement.userId()));
+        }
+    }
+
+    public Map<Long, Integer> computeDeltas(List<Placement> placements) {
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        int n = placements.size();
+        if (n < 2) {
+            return deltas;
+        }
+
+        double[] ratings = new double[n];
+        for (int i = 0; i < n; i++) {
+            Integer indexed = ratingIndex.rating(placements.get(i).userId());
+            ratings[i] = indexed != null ? indexed : placements.get(i).rating();
+        }
+
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            for (int j = 0; j < n; j++) {
+                if (i == j) continue;
+                double expected = 1.0 / (1.0 + Math.pow(10, (ratings[j] - ratings[i]) / 400.0));
+                sum += actual(placements.get(i), placements.get(j), i, j) - expected;
+            }
+            deltas.put(placements.get(i).userId(), (int) Math.round(K_FACTOR * sum / (n - 1)));
+        }
+        return deltas;
+    }
+
+    public List<RatingIndex.Standing> top(int page, int size) {
+        return ratingIndex.page(page * size, size);
+    }
+
+    public RatingIndex.Standing standing(User user) {
+        RatingIndex.Standing standing = ratingIndex.standing(user.getId());
+        if (standing == null) {
+            track(user);
+            standing = ratingIndex.standing(user.getId());
+        }
+        return standing;
+    }
+
+    private static double actual(Placement a, Placement b, int positionA, int positionB) {
+        if (a.score() == b.score() && a.penalty() == b.penalty()) {
+            return 0.5;
+        }
+        return positionA < positionB ? 1.0 : 0.0;
+    }
+
+    public record Placement(Long userId, String username, int rating, int score, long penalty) {}
+}
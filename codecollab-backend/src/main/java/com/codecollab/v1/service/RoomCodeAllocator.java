@@ -0,0 +1,154 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.repository.RoomRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out room codes from a pool that is verified unique ahead of time.
+ *
+ * A background refill generates a batch of candidates, drops the ones already
+ * taken with a single IN query and queues the rest, so createRoom never loops on
+ * existsByRoomCode. Codes of archived rooms are released back into the pool.
+ * The unique constraint on rooms.room_code remains the final guard.
+ */
+@Service
+public class RoomCodeAllocator {
+    
+    private static final Logger log = LoggerFactory.getLogger(RoomCodeAllocator.class);
+
+    private static final String ROOM_CODE_CHARS = "ABCDEFGHIJKLMNPQRSTUVWXYZ123456789"; // No O, 0 for clarity
+    private static final int ROOM_CODE_LENGTH = 6;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Value("${rooms.code-pool.size:512}")
+    private int poolSize;
+
+    @Value("${rooms.code-pool.low-water-mark:128}")
+    private int lowWaterMark;
+
+    private final ConcurrentLinkedQueue<String> pool = new ConcurrentLinkedQueue<>();
+    private final Set<String> pooled = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    // Only the refill thread generates codes, so the SecureRandom is never contended
+    private final SecureRandom random = new SecureRandom();
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "room-code-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public String allocate() {
+        String code = take();
+        if (code == null) {
+            // Cold pool (startup or a creation burst): refill inline once
+            submitRefill().join();
+            code = take();
+            if (code == null) {
+                throw new RuntimeException("Failed to allocate a unique room code");
+            }
+        }
+        if (pooled.size() < lowWaterMark) {
+            submitRefill();
+        }
+        return code;
+    }
+
+    // Codes freed by archiving are known to be unused, no verification needed
+    public void recycle(Collection<String> codes) {
+        for (String code : codes) {
+            if (code != null && code.length() == ROOM_CODE_LENGTH && pooled.add(code)) {
+                pool.add(code);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        submitRefill();
+    }
+
+    private String take() {
+        String code = pool.poll();
+        if (code != null) {
+            pooled.remove(code);
+        }
+        return code;
+    }
+
+    private CompletableFuture<Void> submitRefill() {
+        if (!refilling.compareAndSet(false, true)) {
+            // A refill is already running, wait for it through the single-thread executor
+            return CompletableFuture.runAsync(() -> {}, refillExecutor);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                refill();
+            } catch (Exception e) {
+                log.warn("Room code pool refill failed: {}", e.getMessage());
+            } finally {
+                refilling.set(false);
+            }
+        }, refillExecutor);
+    }
+
+    private void refill() {
+        int missing = poolSize - pooled.size();
+        if (missing <= 0) {
+            return;
+        }
+
+        Set<String> candidates = new LinkedHashSet<>();
+        while (candidates.size() < missing) {
+            String candidate = generateRoomCode();
+            if (!pooled.contains(candidate)) {
+                candidates.add(candidate);
+            }
+        }
+
+        // One round trip verifies the whole batch
+        List<String> taken = roomRepository.findExistingRoomCodes(candidates);
+        taken.forEach(candidates::remove);
+
+        for (String code : candidates) {
+            if (pooled.add(code)) {
+                pool.add(code);
+            }
+        }
+        log.debug("Room code pool refilled: {} codes ready", pooled.size());
+    }
+
+    private String generateRoomCode() {
+        StringBuilder code = new StringBuilder(ROOM_CODE_LENGTH);
+        for (int i = 0; i < ROOM_CODE_LENGTH; i++) {
+            code.append(ROOM_CODE_CHARS.charAt(random.nextInt(ROOM_CODE_CHARS.length())));
+        }
+        return code.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,34 @@
+package com.codecollab.v1.service;
+
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the last code each member pushed from the editor so the round timer
+ * can auto-submit it when time runs out. Drafts live in memory only.
+ */
+@Service
+public class RoomDraftService {
+    
+    private final Map<String, Map<String, Draft>> drafts = new ConcurrentHashMap<>();
+    
+    public void saveDraft(String roomCode, String username, String code, String language) {
+        drafts.computeIfAbsent(roomCode.toUpperCase(), k -> new ConcurrentHashMap<>())
+              .put(username, new Draft(code, language, LocalDateTime.now()));
+    }
+    
+    public Optional<Draft> getDraft(String roomCode, String username) {
+        Map<String, Draft> roomDrafts = drafts.get(roomCode.toUpperCase());
+        return roomDrafts == null ? Optional.empty() : Optional.ofNullable(roomDrafts.get(username));
+    }
+    
+    public void clearRoom(String roomCode) {
+        drafts.remove(roomCode.toUpperCase());
+    }
+    
+    public record Draft(String code, String language, LocalDateTime updatedAt) {}
+}
@@ -0,0 +1,78 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ends live rooms that have been idle for too long and archives ended rooms,
+ * one page at a time so each run holds short transactions and bounded memory.
+ */
+@Service
+public class RoomReaperService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RoomReaperService.class);
+    
+    @Autowired
+    private RoomRepository roomRepository;
+    
+    @Autowired
+    private RoomService roomService;
+    
+    @Autowired
+    private RoomCodeAllocator roomCodeAllocator;
+    
+    @Value("${rooms.reaper.idle-minutes:120}")
+    private long idleMinutes;
+    
+    @Value("${rooms.reaper.archive-after-minutes:1440}")
+    private long archiveAfterMinutes;
+    
+    @Value("${rooms.reaper.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${rooms.reaper.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+    
+    @Scheduled(fixedDelayString = "${rooms.reaper.interval-ms:60000}")
+    public void reap() {
+        LocalDateTime idleCutoff = LocalDateTime.now().minusMinutes(idleMinutes);
+        LocalDateTime archiveCutoff = LocalDateTime.now().minusMinutes(archiveAfterMinutes);
+        int ended = 0;
+        int archived = 0;
+        
+        try {
+            // Always read the first page: every processed batch drops out of the filter
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<RoomRepository.RoomRef> stale =
+                    roomRepository.findStaleWaitingRooms(idleCutoff, PageRequest.of(0, batchSize));
+                if (stale.isEmpty()) break;
+                roomService.endStaleRooms(stale);
+                ended += stale.size();
+            }
+            
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<RoomRepository.RoomRef> endedRooms =
+                    roomRepository.findEndedRooms(archiveCutoff, PageRequest.of(0, batchSize));
+                if (endedRooms.isEmpty()) break;
+                archived += roomService.archiveRooms(endedRooms.stream().map(RoomRepository.RoomRef::getId).toList());
+                // Committed by now, the released codes can be handed out again
+                roomCodeAllocator.recycle(endedRooms.stream().map(RoomRepository.RoomRef::getRoomCode).toList());
+            }
+        } catch (Exception e) {
+            log.error("Room reaper failed", e);
+        }
+        
+        if (ended > 0 || archived > 0) {
+            log.info("Room reaper: ended {} idle rooms, archived {}", ended, archived);
+        }
+    }
+}
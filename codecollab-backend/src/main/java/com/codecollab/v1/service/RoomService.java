@@ -1,5 +1,7 @@
 package com.codecollab.v1.service;
 
+import com.codecollab.v1.dto.RoomMemberInfo;
+import com.codecollab.v1.dto.UserPrincipal;
 import com.codecollab.v1.entity.Problem;
 import com.codecollab.v1.entity.Room;
 import com.codecollab.v1.entity.RoomMember;
@@ -7,21 +9,29 @@ import com.codecollab.v1.entity.User;
 import com.codecollab.v1.repository.ProblemRepository;
 import com.codecollab.v1.repository.RoomMemberRepository;
 import com.codecollab.v1.repository.RoomRepository;
+import com.codecollab.v1.repository.RoundRepository;
 import com.codecollab.v1.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
-@Transactional
 public class RoomService {
     
+    private static final Logger log = LoggerFactory.getLogger(RoomService.class);
+    
     @Autowired
     private RoomRepository roomRepository;
     
@@ -34,19 +44,47 @@ public class RoomService {
     @Autowired  
     private ProblemRepository problemRepository;
     
-    private final SecureRandom random = new SecureRandom();
-    private final String ROOM_CODE_CHARS = "ABCDEFGHIJKLMNPQRSTUVWXYZ123456789"; // No O, 0 for clarity
+    @Autowired
+    private RoundTimerService roundTimerService;
+    
+    @Autowired
+    private CollaborationService collaborationService;
+    
+    @Autowired
+    private RoomDraftService draftService;
+    
+    @Autowired
+    private RoomCodeAllocator roomCodeAllocator;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private RoundService roundService;
+    
+    @Autowired
+    private RoundRepository roundRepository;
+    
+    @Autowired
+    private LiveRoomRegistry liveRoomRegistry;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private TestSetCache testSetCache;
     
+    @Transactional
     public Room createRoom(String roomName, Room.RoomMode mode, User host) {
         // Check if user is already in an active room
         List<Room> activeRooms = getActiveRoomsByUser(host);
         if (!activeRooms.isEmpty()) {
-            System.err.println("❌ User " + host.getUsername() + " is already in room: " + activeRooms.get(0).getRoomCode());
+            log.warn("User {} is already in room {}", host.getUsername(), activeRooms.get(0).getRoomCode());
             throw new RuntimeException("User is already in an active room: " + activeRooms.get(0).getRoomCode());
         }
         
-        // Generate unique room code
-        String roomCode = generateUniqueRoomCode();
+        // Take a pre-verified unique code from the pool
+        String roomCode = roomCodeAllocator.allocate();
         
         // Create room
         Room room = new Room(roomCode, roomName, host, mode);
@@ -56,10 +94,11 @@ public class RoomService {
         RoomMember hostMember = new RoomMember(savedRoom, host, RoomMember.MemberRole.HOST);
         roomMemberRepository.save(hostMember);
         
-        System.out.println("✅ Created room: " + roomCode + " by " + host.getUsername());
+        log.info("Created room {} by {}", roomCode, host.getUsername());
         return savedRoom;
     }
     
+    @Transactional
     public Room joinRoom(String roomCode, User user) throws Exception {
         Optional<Room> roomOpt = roomRepository.findByRoomCode(roomCode.toUpperCase());
         
@@ -69,6 +108,19 @@ public class RoomService {
         
         Room room = roomOpt.get();
         
+        // Check if user has existing membership
+        Optional<RoomMember> existingMember = roomMemberRepository.findByRoomAndUser(room, user);
+        
+        // A DISCONNECTED member still holds their seat, let them straight back in
+        if (existingMember.isPresent() && existingMember.get().getStatus() == RoomMember.MemberStatus.DISCONNECTED) {
+            RoomMember member = existingMember.get();
+            member.setStatus(RoomMember.MemberStatus.JOINED);
+            roomMemberRepository.save(member);
+            liveRoomRegistry.addMember(room.getRoomCode(), user.getUsername(), member.getId());
+            log.info("{} reconnected to room {}", user.getUsername(), roomCode);
+            return room;
+        }
+        
         // Check if room can be joined
         if (!room.canJoin()) {
             if (room.isFull()) {
@@ -78,9 +130,6 @@ public class RoomService {
             }
         }
         
-        // Check if user has existing membership
-        Optional<RoomMember> existingMember = roomMemberRepository.findByRoomAndUser(room, user);
-        
         if (existingMember.isPresent()) {
             RoomMember member = existingMember.get();
             
@@ -91,19 +140,18 @@ public class RoomService {
             
             // If user previously LEFT, allow them to rejoin
             if (member.getStatus() == RoomMember.MemberStatus.LEFT) {
-                System.out.println("🔄 " + user.getUsername() + " rejoining room: " + roomCode);
-                
                 // Reactivate their membership
                 member.setStatus(RoomMember.MemberStatus.JOINED);
                 member.setJoinedAt(LocalDateTime.now()); // Update join time
                 member.setLeftAt(null); // Clear left time
                 roomMemberRepository.save(member);
+                liveRoomRegistry.addMember(room.getRoomCode(), user.getUsername(), member.getId());
                 
                 // Update room member count
                 room.incrementMembers();
                 roomRepository.save(room);
                 
-                System.out.println("✅ " + user.getUsername() + " successfully rejoined room: " + roomCode);
+                log.info("{} rejoined room {}", user.getUsername(), roomCode);
                 return room;
             }
         }
@@ -122,15 +170,16 @@ public class RoomService {
         room.incrementMembers();
         roomRepository.save(room);
         
-        System.out.println("✅ " + user.getUsername() + " joined room: " + roomCode + " for the first time");
+        log.info("{} joined room {} for the first time", user.getUsername(), roomCode);
         return room;
     }
     
+    @Transactional
     public void leaveRoom(Room room, User user) throws Exception {
         Optional<RoomMember> memberOpt = roomMemberRepository.findByRoomAndUser(room, user);
         
         if (memberOpt.isEmpty()) {
-            System.out.println("⚠️ User " + user.getUsername() + " not found in room " + room.getRoomCode());
+            log.debug("{} is not a member of room {}", user.getUsername(), room.getRoomCode());
             throw new Exception("You are not in this room");
         }
         
@@ -141,8 +190,6 @@ public class RoomService {
             throw new Exception("You have already left this room");
         }
         
-        System.out.println("🚪 " + user.getUsername() + " leaving room: " + room.getRoomCode() + " (was " + member.getRole() + ")");
-        
         // If host is leaving and there are other ACTIVE members, transfer host
         long activeMembers = roomMemberRepository.countByRoomAndStatus(room, RoomMember.MemberStatus.JOINED);
         if (member.isHost() && activeMembers > 1) { // More than just this user
@@ -153,38 +200,52 @@ public class RoomService {
         member.setStatus(RoomMember.MemberStatus.LEFT);
         member.setLeftAt(LocalDateTime.now());
         roomMemberRepository.save(member);
+        liveRoomRegistry.removeMember(room.getRoomCode(), user.getUsername());
+        collaborationService.removeParticipant(room.getRoomCode(), user.getUsername());
         
         // Update room member count (decrement)
         room.decrementMembers();
         
-        // Recount active members after this user left
+        // Recount seated members after this user left, a disconnected member may still come back
         long remainingActiveMembers = roomMemberRepository.countByRoomAndStatus(room, RoomMember.MemberStatus.JOINED);
+        long remainingSeated = remainingActiveMembers
+            + roomMemberRepository.countByRoomAndStatus(room, RoomMember.MemberStatus.DISCONNECTED);
         
-        // If no active members left, cancel the room
-        if (remainingActiveMembers == 0) {
-            room.setStatus(Room.RoomStatus.ENDED);
-            System.out.println("🗑️ Room " + room.getRoomCode() + " cancelled - no active members left");
+        // If nobody holds a seat any more, cancel the room
+        if (remainingSeated == 0) {
+            closeEmptyRoom(room);
+            log.info("Room {} cancelled, no members left", room.getRoomCode());
         }
         
         roomRepository.save(room);
-        System.out.println("✅ " + user.getUsername() + " successfully left room: " + room.getRoomCode());
-        System.out.println("   Room status: " + room.getStatus() + ", Active members remaining: " + remainingActiveMembers);
+        log.info("{} left room {}, status {}, {} active members remaining", user.getUsername(),
+                 room.getRoomCode(), room.getStatus(), remainingActiveMembers);
+    }
+    
+    // Ends a room nobody is seated in any more and drops its timer, round, board and live state
+    private void closeEmptyRoom(Room room) {
+        room.setStatus(Room.RoomStatus.ENDED);
+        roundTimerService.cancel(room.getRoomCode());
+        collaborationService.closeRoom(room.getRoomCode());
+        roundService.closeRound(room);
+        leaderboardService.closeRoom(room.getRoomCode());
+        liveRoomRegistry.close(room.getRoomCode());
     }
     
     private void transferHost(Room room, User currentHost) {
         // Find the first active non-host member
         List<RoomMember> activeMembers = 
             roomMemberRepository.findByRoomAndStatus(room, RoomMember.MemberStatus.JOINED);
-        
-        // First, remove host role from current host
-        for (RoomMember member : activeMembers) {
-            if (member.getUser().equals(currentHost)) {
-                member.setRole(RoomMember.MemberRole.MEMBER);
-                roomMemberRepository.save(member);
-                break;
-            }
+        if (activeMembers.stream().allMatch(member -> member.getUser().equals(currentHost))) {
+            return; // Nobody to hand over to, keep the current host
         }
         
+        // First, remove host role from current host (who may already be DISCONNECTED)
+        roomMemberRepository.findByRoomAndUser(room, currentHost).ifPresent(member -> {
+            member.setRole(RoomMember.MemberRole.MEMBER);
+            roomMemberRepository.save(member);
+        });
+        
         // Then assign host to next available member
         for (RoomMember member : activeMembers) {
             if (!member.getUser().equals(currentHost)) {
@@ -197,40 +258,130 @@ public class RoomService {
                 //room.setHostUsername(member.getUser().getUsername()); // If you have this field
                 roomRepository.save(room);
                 
-                System.out.println("✅ Host transferred from " + currentHost.getUsername() + 
-                                 " to " + member.getUser().getUsername());
+                log.info("Host of room {} transferred from {} to {}", room.getRoomCode(),
+                         currentHost.getUsername(), member.getUser().getUsername());
                 break;
             }
         }
     }
 
     
-    private String generateUniqueRoomCode() {
-        String roomCode;
-        int attempts = 0;
+    /**
+     * Applies the presence transitions collected since the last flush in bulk.
+     * Only members still in the expected state move, so anyone who left or
+     * rejoined explicitly in the meantime is left alone.
+     */
+    @Transactional
+    public void applyPresenceChanges(Map<Long, RoomMember.MemberStatus> changes) {
+        List<Long> reconnected = new ArrayList<>();
+        List<Long> disconnected = new ArrayList<>();
+        List<Long> left = new ArrayList<>();
+        changes.forEach((memberId, status) -> {
+            switch (status) {
+                case JOINED -> reconnected.add(memberId);
+                case DISCONNECTED -> disconnected.add(memberId);
+                case LEFT -> left.add(memberId);
+            }
+        });
         
-        do {
-            roomCode = generateRoomCode();
-            attempts++;
+        Set<Long> hostlessRooms = new HashSet<>();
+        Map<Long, Integer> freedSeats = new HashMap<>();
+        
+        if (!reconnected.isEmpty()) {
+            List<Long> ids = roomMemberRepository
+                .findByIdInAndStatusIn(reconnected, List.of(RoomMember.MemberStatus.DISCONNECTED)).stream()
+                .map(RoomMember::getId).toList();
+            if (!ids.isEmpty()) {
+                roomMemberRepository.updateStatus(ids, RoomMember.MemberStatus.JOINED);
+            }
+        }
+        
+        if (!disconnected.isEmpty()) {
+            List<RoomMember> members = roomMemberRepository
+                .findByIdInAndStatusIn(disconnected, List.of(RoomMember.MemberStatus.JOINED));
+            for (RoomMember member : members) {
+                if (member.isHost()) hostlessRooms.add(member.getRoom().getId());
+            }
+            if (!members.isEmpty()) {
+                roomMemberRepository.updateStatus(members.stream().map(RoomMember::getId).toList(),
+                                                  RoomMember.MemberStatus.DISCONNECTED);
+            }
+        }
+        
+        if (!left.isEmpty()) {
+            List<RoomMember> members = roomMemberRepository.findByIdInAndStatusIn(left,
+                List.of(RoomMember.MemberStatus.JOINED, RoomMember.MemberStatus.DISCONNECTED));
+            for (RoomMember member : members) {
+                freedSeats.merge(member.getRoom().getId(), 1, Integer::sum);
+                liveRoomRegistry.removeMember(member.getRoom().getRoomCode(), member.getUser().getUsername());
+                collaborationService.removeParticipant(member.getRoom().getRoomCode(), member.getUser().getUsername());
+                if (member.isHost()) hostlessRooms.add(member.getRoom().getId());
+            }
+            if (!members.isEmpty()) {
+                roomMemberRepository.markLeft(members.stream().map(RoomMember::getId).toList(), LocalDateTime.now());
+            }
+        }
+        
+        Set<Long> affectedRooms = new HashSet<>(hostlessRooms);
+        affectedRooms.addAll(freedSeats.keySet());
+        for (Room room : roomRepository.findAllById(affectedRooms)) {
+            for (int i = 0; i < freedSeats.getOrDefault(room.getId(), 0); i++) {
+                room.decrementMembers();
+            }
+            if (hostlessRooms.contains(room.getId())) {
+                transferHost(room, room.getHost());
+            }
             
-            // Safety check to prevent infinite loop
-            if (attempts > 100) {
-                throw new RuntimeException("Failed to generate unique room code after 100 attempts");
+            long remaining = roomMemberRepository.countByRoomAndStatus(room, RoomMember.MemberStatus.JOINED)
+                + roomMemberRepository.countByRoomAndStatus(room, RoomMember.MemberStatus.DISCONNECTED);
+            if (remaining == 0) {
+                closeEmptyRoom(room);
+                log.info("Room {} ended, every member timed out", room.getRoomCode());
             }
-        } while (roomRepository.existsByRoomCode(roomCode));
+            roomRepository.save(room);
+        }
         
-        return roomCode;
+        log.debug("Presence flush: {} reconnected, {} disconnected, {} left",
+                  reconnected.size(), disconnected.size(), left.size());
     }
     
-    private String generateRoomCode() {
-        StringBuilder code = new StringBuilder(6);
-        for (int i = 0; i < 6; i++) {
-            code.append(ROOM_CODE_CHARS.charAt(random.nextInt(ROOM_CODE_CHARS.length())));
+    @Transactional
+    public void touchRooms(Collection<String> roomCodes) {
+        roomRepository.touchRooms(roomCodes, LocalDateTime.now());
+    }
+    
+    // One reaper batch: end the rooms and release every member in two bulk updates
+    @Transactional
+    public void endStaleRooms(List<RoomRepository.RoomRef> rooms) {
+        List<Long> ids = rooms.stream().map(RoomRepository.RoomRef::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        
+        roomMemberRepository.markLeftInRooms(ids, now);
+        roundRepository.closeOpenRounds(ids, now);
+        roomRepository.endRooms(ids, now);
+        roundService.forgetRooms(rooms.stream().map(RoomRepository.RoomRef::getRoomCode).toList());
+        
+        for (RoomRepository.RoomRef room : rooms) {
+            roundTimerService.cancel(room.getRoomCode());
+            collaborationService.closeRoom(room.getRoomCode());
+            leaderboardService.closeRoom(room.getRoomCode());
+            liveRoomRegistry.close(room.getRoomCode());
+            draftService.clearRoom(room.getRoomCode());
         }
-        return code.toString();
     }
     
+    @Transactional
+    public int archiveRooms(List<Long> roomIds) {
+        return roomRepository.archiveRooms(roomIds);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<RoomMember> findMembership(String roomCode, User user) {
+        return roomRepository.findByRoomCode(roomCode.toUpperCase())
+            .flatMap(room -> roomMemberRepository.findByRoomAndUser(room, user));
+    }
     
+    @Transactional
     public Room pauseSession(String roomCode, User host) throws Exception {
         Room room = getRoomOrThrow(roomCode);
         
@@ -253,12 +404,17 @@ public class RoomService {
         // Keep the time limit if it was set initially
         
         roomRepository.save(room);
+        roundTimerService.cancel(room.getRoomCode());
+        roundService.closeRound(room);
+        leaderboardService.abandonRound(room.getRoomCode());
+        liveRoomRegistry.close(room.getRoomCode());
         
-        System.out.println("⏸ Session paused, room " + roomCode + " back to lobby (WAITING)");
+        log.info("Session paused, room {} back to lobby (WAITING)", roomCode);
         return room;
     }
     
     
+    @Transactional
     public Room resumeSession(String roomCode, Long problemId, User host) throws Exception {
         Room room = getRoomOrThrow(roomCode);
 
@@ -272,12 +428,26 @@ public class RoomService {
         room.setCurrentProblem(problem);
         room.setStatus(Room.RoomStatus.ACTIVE);
         room.setStartTime(LocalDateTime.now());
+        room.setEndTime(null);
+        if (room.getTimeLimit() != null && room.getTimeLimit() > 0) {
+            room.setEndTime(room.getStartTime().plusMinutes(room.getTimeLimit()));
+        }
 
         roomRepository.save(room);
-        System.out.println("▶️ Session resumed in room " + roomCode);
+        // Load the test data before the first submissions arrive
+        testSetCache.warm(problem.getId());
+        if (room.getEndTime() != null) {
+            roundTimerService.schedule(room.getRoomCode(), room.getEndTime());
+        }
+        List<RoomMember> members = getRoomMembers(room);
+        roundService.openRound(room);
+        leaderboardService.startRound(room, members);
+        liveRoomRegistry.open(room, members);
+        log.info("Session resumed in room {}", roomCode);
         return room;
     }
     
+    @Transactional
     public Room startDiscussion(String roomCode, User host) throws Exception {
         Room room = getRoomOrThrow(roomCode);
 
@@ -286,8 +456,50 @@ public class RoomService {
 
         room.setStatus(Room.RoomStatus.DISCUSSION);
         roomRepository.save(room);
+        roundTimerService.cancel(room.getRoomCode());
+        finishRound(room);
 
-        System.out.println("💬 Discussion started in room " + roomCode);
+        log.info("Discussion started in room {}", roomCode);
+        return room;
+    }
+    
+    // Called by the round timer, only acts if the round is still running and really over
+    @Transactional
+    public Optional<Room> expireSession(String roomCode) throws Exception {
+        Room room = getRoomOrThrow(roomCode);
+        
+        if (room.getStatus() != Room.RoomStatus.ACTIVE || room.getEndTime() == null
+                || room.getEndTime().isAfter(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        
+        room.setStatus(Room.RoomStatus.DISCUSSION);
+        roomRepository.save(room);
+        liveRoomRegistry.close(room.getRoomCode()); // late manual submissions are refused from here on
+        
+        log.info("Time is up in room {}, moving to discussion", roomCode);
+        return Optional.of(room);
+    }
+    
+    // Closes the open round (ranks its results) and settles the room standings and ratings
+    @Transactional
+    public void finishRound(Room room) {
+        liveRoomRegistry.close(room.getRoomCode());
+        roundService.closeRound(room);
+        leaderboardService.finishRound(room);
+    }
+    
+    @Transactional(readOnly = true)
+    public Room requireActiveMember(String roomCode, User user) throws Exception {
+        Room room = getRoomOrThrow(roomCode);
+        
+        Optional<RoomMember> memberOpt = roomMemberRepository.findByRoomAndUser(room, user);
+        if (memberOpt.isEmpty() || memberOpt.get().getStatus() != RoomMember.MemberStatus.JOINED) {
+            throw new Exception("You are not an active member of this room");
+        }
+        if (room.getStatus() != Room.RoomStatus.ACTIVE) {
+            throw new Exception("No active session in this room");
+        }
         return room;
     }
 
@@ -296,6 +508,7 @@ public class RoomService {
             .orElseThrow(() -> new Exception("Room not found"));
     }
     
+    @Transactional
     public void endSession(String roomCode, User host) throws Exception {
         Optional<Room> roomOpt = roomRepository.findByRoomCode(roomCode.toUpperCase());
         
@@ -317,29 +530,53 @@ public class RoomService {
         room.setCurrentProblem(null); // Clear the problem
         
         roomRepository.save(room);
+        roundTimerService.cancel(room.getRoomCode());
+        collaborationService.closeRoom(room.getRoomCode());
+        finishRound(room);
+        leaderboardService.closeRoom(room.getRoomCode());
         
-        // Mark all members as LEFT to clean up their state
-        List<RoomMember> members = roomMemberRepository.findByRoomAndStatus(room, 
-                                                                           RoomMember.MemberStatus.JOINED);
-        for (RoomMember member : members) {
-            member.setStatus(RoomMember.MemberStatus.LEFT);
-            member.setLeftAt(LocalDateTime.now());
-            roomMemberRepository.save(member);
-        }
+        // Mark all members as LEFT to clean up their state, one UPDATE for the whole room
+        roomMemberRepository.markLeftInRooms(List.of(room.getId()), LocalDateTime.now());
         
-        System.out.println("🔴 Session ended and room destroyed: " + roomCode);
+        log.info("Session ended, room {} closed", roomCode);
     }
   
     
     // Getter methods
+    @Transactional(readOnly = true)
     public Optional<Room> findByRoomCode(String roomCode) {
         return roomRepository.findByRoomCode(roomCode.toUpperCase());
     }
     
+    @Transactional(readOnly = true)
     public List<RoomMember> getRoomMembers(Room room) {
         return roomMemberRepository.findByRoomAndStatus(room, RoomMember.MemberStatus.JOINED);
     }
     
+    // Everyone still holding a seat, including members whose connection dropped within the grace period
+    @Transactional(readOnly = true)
+    public List<RoomMember> getSeatedMembers(Room room) {
+        return roomMemberRepository.findByRoomAndStatusIn(room,
+            List.of(RoomMember.MemberStatus.JOINED, RoomMember.MemberStatus.DISCONNECTED));
+    }
+    
+    // What member lists and session polls render: member rows only, users from the cache
+    @Transactional(readOnly = true)
+    public List<RoomMemberInfo> getRoomMemberInfos(Room room) {
+        List<RoomMemberRepository.MemberView> members = roomMemberRepository.findMemberViews(room);
+        Map<Long, UserPrincipal> users = userCache.getAll(
+            members.stream().map(RoomMemberRepository.MemberView::getUserId).toList());
+        List<RoomMemberInfo> infos = new ArrayList<>(members.size());
+        for (RoomMemberRepository.MemberView member : members) {
+            UserPrincipal user = users.get(member.getUserId());
+            if (user != null) {
+                infos.add(RoomMemberInfo.fromMemberView(member, user));
+            }
+        }
+        return infos;
+    }
+    
+    @Transactional(readOnly = true)
     public List<Room> getActiveRoomsByUser(User user) {
         List<Room> activeRooms = new ArrayList<>();
         
@@ -356,20 +593,22 @@ public class RoomService {
             }
         }
         
-        System.out.println("🔍 Active rooms for " + user.getUsername() + ": " + activeRooms.size());
-        for (Room room : activeRooms) {
-            System.out.println("  - Room: " + room.getRoomCode() + " (Status: " + room.getStatus() + ")");
+        if (log.isDebugEnabled()) {
+            log.debug("Active rooms for {}: {}", user.getUsername(),
+                      activeRooms.stream().map(room -> room.getRoomCode() + " " + room.getStatus()).toList());
         }
         
         return activeRooms;
     }
     
+    @Transactional(readOnly = true)
     public boolean isUserInRoom(Room room, User user) {
         return roomMemberRepository.existsByRoomAndUser(room, user);
     }
     
     // Session Management Methods
     
+    @Transactional
     public Room startSession(String roomCode, Long problemId, User host, Integer timeLimit) throws Exception {
         Optional<Room> roomOpt = 
             roomRepository.findByRoomCode(roomCode.toUpperCase());
@@ -388,7 +627,7 @@ public class RoomService {
         
         // Sync room's host field if needed
         if (!room.getHost().equals(host)) {
-            System.out.println("⚠️ Syncing room host to match member role");
+            log.warn("Syncing host of room {} to match member role", roomCode);
             room.setHost(host);
         }
         
@@ -408,8 +647,7 @@ public class RoomService {
         Problem problem = problemRepository.findById(problemId)
             .orElseThrow(() -> new Exception("Problem not found"));
         
-        System.out.println("Setting problem ID: " + problemId + " for room: " + roomCode);
-        System.out.println("Problem saved with title: " + problem.getTitle());
+        log.debug("Room {} set to problem {} ({})", roomCode, problemId, problem.getTitle());
         
         // Update room state
         room.setCurrentProblem(problem);
@@ -423,14 +661,23 @@ public class RoomService {
         }
         
         roomRepository.save(room);
+        // Load the test data before the first submissions arrive
+        testSetCache.warm(problem.getId());
+        if (room.getEndTime() != null) {
+            roundTimerService.schedule(room.getRoomCode(), room.getEndTime());
+        }
+        List<RoomMember> members = getRoomMembers(room);
+        roundService.openRound(room);
+        leaderboardService.startRound(room, members);
+        liveRoomRegistry.open(room, members);
         
-        System.out.println("🚀 Session started in room: " + roomCode + 
-                         " with problem: " + problem.getTitle() + 
-                         (timeLimit != null ? " (Time limit: " + timeLimit + " min)" : ""));
+        log.info("Session started in room {} with problem {}, time limit {} min", roomCode, problem.getTitle(),
+                 timeLimit != null ? timeLimit : "none");
         
         return room;
     }
     
+    @Transactional
     public Room getCurrentSession(String roomCode, User user) throws Exception {
         Optional<Room> roomOpt = 
             roomRepository.findByRoomCode(roomCode.toUpperCase());
@@ -442,9 +689,10 @@ public class RoomService {
         Room room = roomOpt.get();
         
         // Check if user is in this room (member or host)
+        // DISCONNECTED members may still poll, the poll itself counts as their reconnect heartbeat
         Optional<RoomMember> memberOpt = 
             roomMemberRepository.findByRoomAndUser(room, user);
-        if (memberOpt.isEmpty() || memberOpt.get().getStatus() != RoomMember.MemberStatus.JOINED) {
+        if (memberOpt.isEmpty() || memberOpt.get().getStatus() == RoomMember.MemberStatus.LEFT) {
             throw new Exception("You are not an active member of this room");
         }
         
@@ -455,7 +703,7 @@ public class RoomService {
             if (member.getRole() == RoomMember.MemberRole.HOST) {
                 // Update room's host to match current HOST in members
                 if (!room.getHost().equals(member.getUser())) {
-                    System.out.println("⚠️ Host mismatch detected, syncing...");
+                    log.warn("Host mismatch detected in room {}, syncing", room.getRoomCode());
                     room.setHost(member.getUser());
                     roomRepository.save(room);
                 }
@@ -469,17 +717,9 @@ public class RoomService {
                 throw new Exception("No problem set for this session");
             }
             
-            // Force load complete problem data
-            Long problemId = room.getCurrentProblem().getId();
-            Optional<Problem> fullProblem = problemRepository.findById(problemId);
-            
-            if (fullProblem.isPresent()) {
-                room.setCurrentProblem(fullProblem.get());
-                System.out.println("Loaded problem for user " + user.getUsername() + 
-                                 ": " + fullProblem.get().getTitle());
-            } else {
-                throw new Exception("Problem data not found");
-            }
+            // The eager currentProblem is already complete, loaded by id from the problems cache region
+            log.debug("Session poll by {} in room {}, problem {}", user.getUsername(), room.getRoomCode(),
+                      room.getCurrentProblem().getId());
         }
         
         return room;
@@ -0,0 +1,79 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import com.codecollab.v1.dto.RoomEvent;
+import com.codecollab.v1.dto.TestVerdict;
+import com.codecollab.v1.entity.Submission;
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Submissions made from inside a room. Membership and the current problem come
+ * from LiveRoomRegistry, the run goes through the execution engine at ROOM
+ * priority and every test verdict is published once to
+ * /topic/rooms/{roomCode}/submissions, which the broker fans out to all members.
+ */
+@Service
+public class RoomSubmissionService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RoomSubmissionService.class);
+    
+    @Autowired
+    private LiveRoomRegistry liveRoomRegistry;
+    
+    @Autowired
+    private ProblemService problemService;
+    
+    @Autowired
+    private CodeExecutionService executionService;
+    
+    @Autowired
+    private RoundService roundService;
+    
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    
+    public ExecutionResult submit(String roomCode, User user, String code, String language) throws Exception {
+        if (code == null || code.isBlank() || language == null) {
+            throw new Exception("Missing required fields");
+        }
+        LiveRoomRegistry.LiveRoom live = liveRoomRegistry.get(roomCode)
+            .orElseThrow(() -> new Exception("No active session in this room"));
+        Long memberId = live.memberId(user.getUsername())
+            .orElseThrow(() -> new Exception("You are not an active member of this room"));
+        if (live.getProblemId() == null) {
+            throw new Exception("No problem set for this session");
+        }
+        
+        String topic = "/topic/rooms/" + live.getRoomCode() + "/submissions";
+        String username = user.getUsername();
+        List<TestCase> testCases = problemService.getTestCases(live.getProblemId());
+        messagingTemplate.convertAndSend(topic,
+            new RoomEvent("SUBMISSION_STARTED", live.getRoomCode(), username, Map.of("total", testCases.size())));
+        
+        ExecutionResult result = executionService.executeCode(code, language, testCases,
+            CodeExecutionService.Priority.ROOM,
+            (index, testResult) -> messagingTemplate.convertAndSend(topic,
+                new RoomEvent("TEST_VERDICT", live.getRoomCode(), username,
+                              new TestVerdict(index, testCases.size(), testResult))));
+        
+        Optional<Submission> recorded = roundService.recordSubmission(live.getRoomCode(), memberId, code, language, result);
+        messagingTemplate.convertAndSend(topic, new RoomEvent("SUBMISSION_RESULT", live.getRoomCode(), username,
+            Map.of("status", result.getStatus(),
+                   "passed", result.getPassedTestCases(),
+                   "total", result.getTotalTestCases())));
+        
+        log.info("Room submission by {} in {}: {}, recorded as {}", username, live.getRoomCode(), result.getStatus(),
+                 recorded.map(Submission::getId).orElse(null));
+        return result;
+    }
+}
@@ -0,0 +1,217 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import com.codecollab.v1.dto.RoundSummary;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.Round;
+import com.codecollab.v1.entity.RoundResult;
+import com.codecollab.v1.entity.Submission;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.repository.RoomRepository;
+import com.codecollab.v1.repository.RoundRepository;
+import com.codecollab.v1.repository.RoundResultRepository;
+import com.codecollab.v1.repository.SubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Rounds of a room and the submissions made in them.
+ *
+ * Every session start or resume opens a Round, and every verdict is stored as a
+ * Submission and folded into the member's RoundResult right away (best score,
+ * attempts, penalty). Closing a round only ranks those few aggregate rows, and
+ * history is read from them instead of from the submissions.
+ *
+ * Scoring: a round is worth up to 100 points (share of test cases passed by the
+ * best attempt). Penalty is the time from round start to that attempt plus
+ * 20 minutes for every attempt before it that did not improve the score.
+ */
+@Service
+@Transactional
+public class RoundService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RoundService.class);
+    
+    public static final long REJECTED_ATTEMPT_PENALTY_SECONDS = 20 * 60;
+    
+    @Autowired
+    private RoomRepository roomRepository;
+    
+    @Autowired
+    private RoundRepository roundRepository;
+    
+    @Autowired
+    private RoundResultRepository roundResultRepository;
+    
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    // roomCode -> id of the open round, so submissions do not look it up every time
+    private final Map<String, Long> openRounds = new ConcurrentHashMap<>();
+    
+    public Round openRound(Room room) {
+        closeRound(room); // never leave two rounds open in one room
+        
+        int roundNumber = roundRepository.findFirstByRoomOrderByRoundNumberDesc(room)
+            .map(last -> last.getRoundNumber() + 1)
+            .orElse(1);
+        
+        Round round = new Round();
+        round.setRoom(room);
+        round.setProblem(room.getCurrentProblem());
+        round.setRoundNumber(roundNumber);
+        round.setMode(room.getMode().name());
+        if (room.getEndTime() != null && room.getTimeLimit() != null) {
+            round.setTimeLimitSeconds(room.getTimeLimit() * 60);
+        }
+        round.setStartTime(room.getStartTime() != null ? room.getStartTime() : LocalDateTime.now());
+        round = roundRepository.save(round);
+        
+        openRounds.put(room.getRoomCode(), round.getId());
+        log.info("Round {} opened in room {}", roundNumber, room.getRoomCode());
+        return round;
+    }
+    
+    public void closeRound(Room room) {
+        Long roundId = openRounds.remove(room.getRoomCode());
+        Optional<Round> roundOpt = roundId != null
+            ? roundRepository.findById(roundId)
+            : roundRepository.findFirstByRoomAndEndTimeIsNullOrderByRoundNumberDesc(room);
+        if (roundOpt.isEmpty() || roundOpt.get().getEndTime() != null) {
+            return;
+        }
+        
+        Round round = roundOpt.get();
+        round.setEndTime(LocalDateTime.now());
+        int rank = 0;
+        for (RoundResult result : roundResultRepository.findStandings(round.getId())) {
+            result.setRank(++rank);
+        }
+        log.info("Round {} closed in room {}", round.getRoundNumber(), room.getRoomCode());
+    }
+    
+    // The reaper ended these rooms in bulk, drop their open round ids
+    public void forgetRooms(Collection<String> roomCodes) {
+        roomCodes.forEach(openRounds::remove);
+    }
+    
+    // Manual submissions arrive with the member id from LiveRoomRegistry, loaded here in one lookup
+    public Optional<Submission> recordSubmission(String roomCode, Long memberId, String code, String language,
+                                                 ExecutionResult result) throws Exception {
+        RoomMember member = roomMemberRepository.findById(memberId)
+            .orElseThrow(() -> new Exception("You are not an active member of this room"));
+        return recordSubmission(member.getRoom(), member, code, language, result, false);
+    }
+    
+    /**
+     * Stores a verdict against the room's open round and updates the member's
+     * round aggregate. Returns empty when no round is open.
+     *
+     * Overlapping submissions of one member (a double click, or a manual submit
+     * racing the auto-submit) queue on the seat's row lock, so only the first one
+     * creates the RoundResult and the next one updates it.
+     */
+    public Optional<Submission> recordSubmission(Room room, RoomMember member, String code, String language,
+                                                 ExecutionResult result, boolean autoSubmitted) {
+        roomMemberRepository.findByIdForUpdate(member.getId());
+        Optional<Round> roundOpt = currentRound(room);
+        if (roundOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        Round round = roundOpt.get();
+        LocalDateTime now = LocalDateTime.now();
+        
+        Submission submission = new Submission();
+        submission.setRound(round);
+        submission.setUser(member.getUser());
+        submission.setCode(code);
+        submission.setLanguage(language);
+        submission.setResultStatus(result.getStatus());
+        submission.setPassedCount(result.getPassedTestCases());
+        submission.setTotalCount(result.getTotalTestCases());
+        submission.setExecutionTimeMs((long) result.getExecutionTimeMs());
+        submission.setAutoSubmitted(autoSubmitted);
+        submission.setSubmittedAt(now);
+        submission = submissionRepository.save(submission);
+        
+        RoundResult aggregate = roundResultRepository
+            .findForUpdate(round.getId(), member.getUser().getId())
+            .orElseGet(() -> new RoundResult(round, member.getUser()));
+        aggregate.setAttempts(aggregate.getAttempts() + 1);
+        
+        int score = attemptScore(result);
+        if (score > aggregate.getBestScore() || aggregate.getBestStatus() == null) {
+            long elapsed = Math.max(0, Duration.between(round.getStartTime(), now).getSeconds());
+            aggregate.setBestScore(score);
+            aggregate.setBestStatus(result.getStatus());
+            aggregate.setBestSubmittedAt(now);
+            aggregate.setPenaltySeconds(elapsed + aggregate.getRejectedAttempts() * REJECTED_ATTEMPT_PENALTY_SECONDS);
+            roundResultRepository.save(aggregate);
+            leaderboardService.recordRoundResult(room, member, aggregate.getBestScore(),
+                                                 aggregate.getPenaltySeconds(), now);
+        } else {
+            if (aggregate.getBestScore() < 100) {
+                aggregate.setRejectedAttempts(aggregate.getRejectedAttempts() + 1);
+            }
+            roundResultRepository.save(aggregate);
+        }
+        return Optional.of(submission);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<RoundSummary> getRoundHistory(String roomCode) throws Exception {
+        Room room = roomRepository.findByRoomCode(roomCode.toUpperCase())
+            .orElseThrow(() -> new Exception("Room not found"));
+        
+        List<Round> rounds = roundRepository.findByRoomOrderByRoundNumberDesc(room);
+        if (rounds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<RoundResult>> results = roundResultRepository.findByRoundsWithUser(rounds).stream()
+            .collect(Collectors.groupingBy(result -> result.getRound().getId()));
+        
+        List<RoundSummary> history = new ArrayList<>();
+        for (Round round : rounds) {
+            history.add(RoundSummary.fromRound(round, results.getOrDefault(round.getId(), List.of())));
+        }
+        return history;
+    }
+    
+    public static int attemptScore(ExecutionResult result) {
+        if ("AC".equals(result.getStatus())) {
+            return 100;
+        }
+        return result.getTotalTestCases() > 0 ? result.getPassedTestCases() * 100 / result.getTotalTestCases() : 0;
+    }
+    
+    private Optional<Round> currentRound(Room room) {
+        Long roundId = openRounds.get(room.getRoomCode());
+        if (roundId != null) {
+            return Optional.of(roundRepository.getReferenceById(roundId));
+        }
+        // After a restart the open round is only known to the database
+        Optional<Round> round = roundRepository.findFirstByRoomAndEndTimeIsNullOrderByRoundNumberDesc(room);
+        round.ifPresent(r -> openRounds.put(room.getRoomCode(), r.getId()));
+        return round;
+    }
+}
@@ -0,0 +1,117 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.event.RoundExpiredEvent;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.repository.RoomRepository;
+import com.codecollab.v1.util.HierarchicalTimingWheel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Fires a {@link RoundExpiredEvent} when an active room reaches its endTime.
+ * All rooms share one timing wheel, so there is no thread or scheduled task per room.
+ * On startup it also restores the {@link LiveRoomRegistry} entries of the rounds in progress.
+ */
+@Service
+public class RoundTimerService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RoundTimerService.class);
+    
+    private static final long REJECTED_RETRY_MS = 1000;
+    
+    @Autowired
+    private RoomRepository roomRepository;
+    
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+    
+    @Autowired
+    private LiveRoomRegistry liveRoomRegistry;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // 250ms ticks, 64 slots, 4 levels: covers ~48 days before re-cascading
+    private final HierarchicalTimingWheel wheel =
+        new HierarchicalTimingWheel("round-timer", 250, 64, 4, Runnable::run);
+    
+    private final Map<String, HierarchicalTimingWheel.Timeout> timers = new ConcurrentHashMap<>();
+    
+    public void schedule(String roomCode, LocalDateTime endTime) {
+        arm(roomCode.toUpperCase(), endTime, Math.max(0, Duration.between(LocalDateTime.now(), endTime).toMillis()));
+    }
+    
+    private void arm(String code, LocalDateTime endTime, long delayMillis) {
+        HierarchicalTimingWheel.Timeout[] holder = new HierarchicalTimingWheel.Timeout[1];
+        holder[0] = wheel.schedule(delayMillis, () -> {
+            if (timers.remove(code, holder[0])) {
+                try {
+                    eventPublisher.publishEvent(new RoundExpiredEvent(code, endTime));
+                } catch (TaskRejectedException e) {
+                    // Too many rooms expiring at once: try again shortly unless the room was re-timed meanwhile
+                    log.warn("Round timer pool is full, retrying room {} in {}ms", code, REJECTED_RETRY_MS);
+                    if (!timers.containsKey(code)) {
+                        arm(code, endTime, REJECTED_RETRY_MS);
+                    }
+                }
+            }
+        });
+        
+        HierarchicalTimingWheel.Timeout previous = timers.put(code, holder[0]);
+        if (previous != null) {
+            previous.cancel();
+        }
+        log.debug("Round timer armed for room {} in {}ms", code, delayMillis);
+    }
+    
+    public void cancel(String roomCode) {
+        HierarchicalTimingWheel.Timeout timeout = timers.remove(roomCode.toUpperCase());
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+    
+    public int activeTimers() {
+        return wheel.pendingTimeouts();
+    }
+    
+    // Timers and the live room registry only live in memory, rebuild both for every active round after a restart
+    @EventListener(ApplicationReadyEvent.class)
+    public void rearmActiveRooms() {
+        List<Room> activeRooms = roomRepository.findByStatus(Room.RoomStatus.ACTIVE);
+        if (activeRooms.isEmpty()) {
+            return;
+        }
+        Map<Long, List<RoomMember>> seated = roomMemberRepository.findByRoomInAndStatusIn(activeRooms,
+                List.of(RoomMember.MemberStatus.JOINED, RoomMember.MemberStatus.DISCONNECTED)).stream()
+            .collect(Collectors.groupingBy(member -> member.getRoom().getId()));
+        for (Room room : activeRooms) {
+            liveRoomRegistry.open(room, seated.getOrDefault(room.getId(), List.of()));
+            if (room.getEndTime() != null) {
+                schedule(room.getRoomCode(), room.getEndTime());
+            }
+        }
+        log.info("Restored {} active rooms", activeRooms.size());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        wheel.shutdown();
+    }
+}
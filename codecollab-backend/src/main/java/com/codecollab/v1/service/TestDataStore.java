@@ -0,0 +1,73 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.util.ContentAddressedStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Test inputs and expected outputs, kept as content-addressed files on local
+ * disk instead of TEXT columns. A TestCase row only stores the SHA-256 and
+ * size of each; the executor reads them as memory-mapped buffers.
+ */
+@Service
+public class TestDataStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(TestDataStore.class);
+
+    @Value("${testdata.store.dir:./data/testdata}")
+    private String directory;
+
+    @Value("${testdata.store.max-mapped-bytes:1073741824}")
+    private long maxMappedBytes;
+
+    private ContentAddressedStore store;
+
+    @PostConstruct
+    public void init() throws IOException {
+        store = new ContentAddressedStore(Path.of(directory), maxMappedBytes);
+        log.info("Test data store at {}", Path.of(directory).toAbsolutePath());
+    }
+
+    public void attach(TestCase testCase, String input, String expectedOutput) throws IOException {
+        setInput(testCase, store.put(input));
+        setOutput(testCase, store.put(expectedOutput));
+    }
+
+    // Streams are read to the end but not closed
+    public void attach(TestCase testCase, InputStream input, InputStream expectedOutput) throws IOException {
+        setInput(testCase, store.put(input));
+        setOutput(testCase, store.put(expectedOutput));
+    }
+
+    // For the bulk importer, which links the hashes to rows itself
+    public ContentAddressedStore.Blob store(InputStream content) throws IOException {
+        return store.put(content);
+    }
+    
+    public ByteBuffer input(TestCase testCase) throws IOException {
+        return store.map(testCase.getInputHash());
+    }
+
+    public ByteBuffer expectedOutput(TestCase testCase) throws IOException {
+        return store.map(testCase.getOutputHash());
+    }
+
+    private static void setInput(TestCase testCase, ContentAddressedStore.Blob blob) {
+        testCase.setInputHash(blob.hash());
+        testCase.setInputBytes(blob.length());
+    }
+
+    private static void setOutput(TestCase testCase, ContentAddressedStore.Blob blob) {
+        testCase.setOutputHash(blob.hash());
+        testCase.setOutputBytes(blob.length());
+    }
+}
@@ -0,0 +1,131 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.repository.TestCaseRepository;
+import com.codecollab.v1.util.WeightedLruCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-problem test sets for the execution hot path.
+ *
+ * A problem's test cases are read with one query, copied into detached
+ * TestCase objects (no lazy problem reference) and kept as unmodifiable
+ * sample/hidden lists. The data itself is in TestDataStore, so the byte bound
+ * here covers the entries' own heap footprint. Every problem has a version
+ * that is bumped on edits; a load that raced with an edit is served once but
+ * never cached.
+ */
+@Service
+public class TestSetCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(TestSetCache.class);
+
+    // Object headers, the entity fields and the two hash Strings per test case
+    private static final long PER_CASE_OVERHEAD_BYTES = 320;
+
+    @Autowired
+    private TestCaseRepository testCaseRepository;
+    
+    @Autowired
+    private TestDataStore testDataStore;
+
+    @Autowired
+    @Qualifier("codeExecutionTaskExecutor")
+    private TaskExecutor warmupExecutor;
+
+    @Value("${testcases.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    private WeightedLruCache<Long, TestSet> cache;
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        cache = new WeightedLruCache<>(maxBytes, TestSet::bytes);
+    }
+
+    public TestSet get(Long problemId) {
+        long version = version(problemId).get();
+        TestSet cached = cache.get(problemId);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        TestSet loaded = load(problemId, version);
+        if (version(problemId).get() == version) {
+            cache.put(problemId, loaded);
+        }
+        return loaded;
+    }
+
+    // Loads in the background so starting a session does not wait for it
+    public void warm(Long problemId) {
+        warmupExecutor.execute(() -> {
+            TestSet testSet = get(problemId);
+            // Map the data too, so the first verdicts do not wait on the disk
+            for (TestCase testCase : testSet.all()) {
+                try {
+                    testDataStore.input(testCase);
+                    testDataStore.expectedOutput(testCase);
+                } catch (Exception e) {
+                    log.warn("Could not map test data for test case {}: {}", testCase.getId(), e.getMessage());
+                }
+            }
+            log.debug("Test set warmed for problem {}: {} cases, {} bytes", problemId,
+                      testSet.all().size(), testSet.bytes());
+        });
+    }
+
+    // Called after any write to a problem's test cases
+    public void invalidate(Long problemId) {
+        version(problemId).incrementAndGet();
+        cache.invalidate(problemId);
+    }
+
+    private AtomicLong version(Long problemId) {
+        return versions.computeIfAbsent(problemId, id -> new AtomicLong());
+    }
+
+    private TestSet load(Long problemId, long version) {
+        List<TestCase> all = new ArrayList<>();
+        List<TestCase> samples = new ArrayList<>();
+        List<TestCase> hidden = new ArrayList<>();
+        long bytes = 0;
+        for (TestCase testCase : testCaseRepository.findByProblemId(problemId)) {
+            TestCase copy = copyOf(testCase);
+            all.add(copy);
+            (Boolean.TRUE.equals(copy.getIsSample()) ? samples : hidden).add(copy);
+            bytes += PER_CASE_OVERHEAD_BYTES;
+        }
+        return new TestSet(version, List.copyOf(all), List.copyOf(samples), List.copyOf(hidden), bytes);
+    }
+
+    private static TestCase copyOf(TestCase testCase) {
+        TestCase copy = new TestCase();
+        copy.setId(testCase.getId());
+        copy.setInputHash(testCase.getInputHash());
+        copy.setInputBytes(testCase.getInputBytes());
+        copy.setOutputHash(testCase.getOutputHash());
+        copy.setOutputBytes(testCase.getOutputBytes());
+        copy.setIsSample(testCase.getIsSample());
+        copy.setPoints(testCase.getPoints());
+        copy.setCreatedAt(testCase.getCreatedAt());
+        return copy;
+    }
+
+    // Shared between requests, callers must not modify the test cases
+    public record TestSet(long version, List<TestCase> all, List<TestCase> samples, List<TestCase> hidden, long bytes) {}
+}
@@ -0,0 +1,100 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.UserPrincipal;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.UserRepository;
+import com.codecollab.v1.util.ExpiringCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache of UserPrincipal by id and by username, bounded in size and
+ * time. Anything that changes a user's profile or rating must call invalidate,
+ * the time bound only limits how stale a missed invalidation can get.
+ *
+ * Principals are held once, by id. Usernames only map to ids, so invalidating a
+ * user is a single removal and a username whose id is gone simply misses.
+ */
+@Service
+public class UserCache {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${users.cache.size:10000}")
+    private int cacheSize;
+    
+    @Value("${users.cache.ttl-ms:600000}")
+    private long ttlMs;
+    
+    private ExpiringCache<Long, UserPrincipal> byId;
+    private ExpiringCache<String, Long> idsByUsername;
+    
+    @PostConstruct
+    public void init() {
+        byId = new ExpiringCache<>(cacheSize);
+        idsByUsername = new ExpiringCache<>(cacheSize);
+    }
+    
+    public Optional<UserPrincipal> getById(Long id) {
+        UserPrincipal principal = byId.get(id);
+        if (principal != null) {
+            return Optional.of(principal);
+        }
+        return userRepository.findById(id).map(this::put);
+    }
+    
+    public Optional<UserPrincipal> getByUsername(String username) {
+        Long id = idsByUsername.get(username);
+        UserPrincipal principal = id != null ? byId.get(id) : null;
+        if (principal != null && principal.username().equals(username)) {
+            return Optional.of(principal);
+        }
+        return userRepository.findByUsername(username).map(this::put);
+    }
+    
+    // Misses are loaded together in one query
+    public Map<Long, UserPrincipal> getAll(Collection<Long> ids) {
+        Map<Long, UserPrincipal> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            UserPrincipal principal = byId.get(id);
+            if (principal != null) {
+                found.put(id, principal);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findAllById(missing)) {
+                found.put(user.getId(), put(user));
+            }
+        }
+        return found;
+    }
+    
+    public UserPrincipal put(User user) {
+        UserPrincipal principal = UserPrincipal.fromUser(user);
+        long expiresAt = System.currentTimeMillis() + ttlMs;
+        byId.put(principal.id(), principal, expiresAt);
+        idsByUsername.put(principal.username(), principal.id(), expiresAt);
+        return principal;
+    }
+    
+    public void invalidate(Long id) {
+        byId.invalidate(id);
+    }
+    
+    public void invalidateAll(Collection<Long> ids) {
+        ids.forEach(byId::invalidate);
+    }
+}
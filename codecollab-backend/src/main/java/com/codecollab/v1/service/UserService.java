@@ -6,7 +6,6 @@ import com.codecollab.v1.entity.User;
 import com.codecollab.v1.repository.UserRepository;
 import com.codecollab.v1.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -18,12 +17,20 @@ public class UserService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     
     @Autowired
     private JwtUtil jwtUtil;
     
-    public AuthResponse register(AuthRequest request) {
+    @Autowired
+    private RatingService ratingService;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    public AuthResponse register(AuthRequest request, String clientIp) {
+        passwordHashingService.checkClient(clientIp);
+        
         // Check if user already exists
         if (userRepository.existsByUsername(request.getUsername())) {
             return new AuthResponse(null, null, "Username already exists");
@@ -37,9 +44,11 @@ public class UserService {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         
         User savedUser = userRepository.save(user);
+        ratingService.track(savedUser);
+        userCache.put(savedUser);
         
         // Generate JWT token
         String token = jwtUtil.generateToken(savedUser.getUsername());
@@ -50,7 +59,10 @@ public class UserService {
         return new AuthResponse(token, savedUser, "User registered successfully");
     }
     
-    public AuthResponse login(AuthRequest request) {
+    public AuthResponse login(AuthRequest request, String clientIp) {
+        passwordHashingService.checkClient(clientIp);
+        passwordHashingService.checkUser(clientIp, request.getUsername());
+        
         // Find user by username or email
         Optional<User> userOptional = userRepository.findByUsername(request.getUsername());
         if (!userOptional.isPresent()) {
@@ -58,15 +70,22 @@ public class UserService {
         }
         
         if (!userOptional.isPresent()) {
+            passwordHashingService.recordUnknownUser(clientIp, request.getUsername());
             return new AuthResponse(null, null, "Invalid credentials");
         }
         
         User user = userOptional.get();
         
-        // Check password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        // Check password, hashed on the dedicated pool
+        String passwordHash = user.getPasswordHash();
+        if (!passwordHashingService.matches(request.getPassword(), passwordHash)) {
+            passwordHashingService.recordFailure(clientIp, request.getUsername());
             return new AuthResponse(null, null, "Invalid credentials");
         }
+        passwordHashingService.recordSuccess(clientIp, request.getUsername());
+        Long userId = user.getId();
+        passwordHashingService.rehashIfNeeded(request.getPassword(), passwordHash,
+            rehashed -> userRepository.updatePasswordHash(userId, rehashed));
         
         // Generate JWT token
         String token = jwtUtil.generateToken(user.getUsername());
@@ -98,7 +117,10 @@ public class UserService {
         user.setUsername(generateUsernameFromEmail(email));
         user.setPasswordHash("OAUTH_USER"); // Special marker for OAuth users
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        ratingService.track(savedUser);
+        userCache.put(savedUser);
+        return savedUser;
     }
     
     private String generateUsernameFromEmail(String email) {
@@ -0,0 +1,98 @@
+package com.codecollab.v1.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-window attempt counter per key (client IP, username, ...).
+ *
+ * A key gets maxAttempts recorded attempts per window, after that it is blocked
+ * until the window runs out. Windows only ever leave when they expire, never to
+ * make room, so flooding the throttle with fresh keys cannot reset a blocked one.
+ * Every window has the same length, so insertion order is expiry order and the
+ * expired ones are dropped from the head. Once maxKeys windows are live, new keys
+ * are let through untracked until the oldest expire: a full table must never turn
+ * into a lockout for everyone else.
+ */
+public class AttemptThrottle {
+
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Window> windows = new LinkedHashMap<>();
+
+    public AttemptThrottle(int maxAttempts, long windowMillis, int maxKeys) {
+        this(maxAttempts, windowMillis, maxKeys, System::currentTimeMillis);
+    }
+
+    public AttemptThrottle(int maxAttempts, long windowMillis, int maxKeys, LongSupplier clock) {
+        if (maxAttempts < 1 || windowMillis < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("maxAttempts, windowMillis and maxKeys must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = windowMillis;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    // Checks without counting, for limits that only count failures
+    public synchronized boolean isAllowed(String key) {
+        Window window = liveWindow(key);
+        return window == null || window.attempts < maxAttempts;
+    }
+
+    public synchronized void record(String key) {
+        Window window = liveWindow(key);
+        if (window == null) {
+            if (windows.size() >= maxKeys) {
+                // Full, the key goes uncounted rather than evicting a live window
+                return;
+            }
+            window = new Window(clock.getAsLong() + windowMillis);
+            windows.put(key, window);
+        }
+        window.attempts++;
+    }
+
+    // Counts the attempt and tells whether it is within the limit
+    public synchronized boolean tryAcquire(String key) {
+        if (!isAllowed(key)) {
+            return false;
+        }
+        record(key);
+        return true;
+    }
+
+    public synchronized void reset(String key) {
+        windows.remove(key);
+    }
+
+    public synchronized int size() {
+        dropExpired();
+        return windows.size();
+    }
+
+    private Window liveWindow(String key) {
+        dropExpired();
+        return windows.get(key);
+    }
+
+    private void dropExpired() {
+        long now = clock.getAsLong();
+        Iterator<Window> eldest = windows.values().iterator();
+        while (eldest.hasNext() && eldest.next().expiresAt <= now) {
+            eldest.remove();
+        }
+    }
+
+    private static class Window {
+        private final long expiresAt;
+        private int attempts;
+
+        Window(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.codecollab.v1.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable blobs on local disk, named by the SHA-256 of their content
+ * (root/ab/abcdef...). Writes stream through a temp file and are renamed into
+ * place, so identical content is stored once and a reader never sees a partial
+ * file. Reads are read-only memory mappings; the mappings themselves are kept
+ * in an LRU bounded by total mapped bytes so hot blobs are mapped once.
+ */
+public class ContentAddressedStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final WeightedLruCache<String, MappedByteBuffer> mappings;
+
+    public ContentAddressedStore(Path root, long maxMappedBytes) throws IOException {
+        this.root = root;
+        this.mappings = new WeightedLruCache<>(maxMappedBytes, MappedByteBuffer::capacity);
+        Files.createDirectories(root);
+    }
+
+    // Reads the stream to the end without closing it
+    public Blob put(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            long length;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                length = new DigestInputStream(content, digest).transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = path(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // Content is identical by construction, so a concurrent writer winning the rename is fine
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new Blob(hash, length);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Blob put(String content) throws IOException {
+        return put(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Read-only view of a blob with its own position and limit. The mapping is
+     * shared, so reading it costs no copy and no heap.
+     */
+    public ByteBuffer map(String hash) throws IOException {
+        MappedByteBuffer mapped = mappings.get(hash);
+        if (mapped == null) {
+            try (FileChannel channel = FileChannel.open(path(hash), StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            mappings.put(hash, mapped);
+        }
+        return mapped.duplicate();
+    }
+
+    public boolean contains(String hash) {
+        return Files.exists(path(hash));
+    }
+
+    private Path path(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a content hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Blob(String hash, long length) {}
+}
@@ -0,0 +1,70 @@
+package com.codecollab.v1.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-process cache bounded by size (least recently used entry goes first)
+ * where every entry also carries its own expiry instant. Expired entries are
+ * dropped when they are read or pushed out by newer ones.
+ */
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public ExpiringCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    public ExpiringCache(int maxSize, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.getAsLong()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+        long now = clock.getAsLong();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        // Least recently used goes first, expired entries are usually the eldest anyway
+        Iterator<K> eldest = entries.keySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+}
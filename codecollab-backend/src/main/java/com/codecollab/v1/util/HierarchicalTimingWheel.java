@@ -0,0 +1,216 @@
+package com.codecollab.v1.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck) driven by a single ticker thread.
+ *
+ * Level 0 has {@code wheelSize} slots of one tick each, every higher level covers
+ * {@code wheelSize} slots of the level below. Timers far in the future sit in a
+ * coarse slot and are cascaded down as the wheel turns, so scheduling and
+ * cancelling are O(1) and one thread serves any number of timers.
+ * Expired tasks are handed to {@code taskExecutor} so a slow task never stalls the wheel.
+ */
+public class HierarchicalTimingWheel {
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final Bucket[][] levels;
+    private final Executor taskExecutor;
+    private final ScheduledExecutorService ticker;
+
+    private final long startNanos;
+    private long currentTick = 0;
+    private int pendingTimeouts = 0;
+
+    public HierarchicalTimingWheel(String name, long tickMillis, int wheelSize, int levelCount, Executor taskExecutor) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.wheelMask = wheelSize - 1;
+        this.levels = new Bucket[levelCount][wheelSize];
+        for (Bucket[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.taskExecutor = taskExecutor;
+        this.startNanos = System.nanoTime();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name + "-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::advanceClock, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Timeout schedule(long delayMillis, Runnable task) {
+        Timeout timeout = new Timeout(task);
+        // From elapsed time, not currentTick: a late ticker would otherwise fire the timer early by its lag
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        long dueNanos = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        long dueTick = (dueNanos + tickNanos - 1) / tickNanos;
+        synchronized (this) {
+            timeout.expirationTick = Math.max(currentTick + 1, dueTick);
+            place(timeout);
+            pendingTimeouts++;
+        }
+        return timeout;
+    }
+
+    public synchronized int pendingTimeouts() {
+        return pendingTimeouts;
+    }
+
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    // Catch up on every tick that elapsed since the last run, so a GC pause
+    // or a busy ticker thread delays timers instead of dropping them.
+    private void advanceClock() {
+        long targetTick = (System.nanoTime() - startNanos) / TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        while (true) {
+            Timeout expired;
+            synchronized (this) {
+                if (currentTick >= targetTick) {
+                    return;
+                }
+                currentTick++;
+                cascade();
+                expired = levels[0][(int) (currentTick & wheelMask)].drain();
+            }
+            for (Timeout timeout = expired; timeout != null; ) {
+                Timeout next = timeout.next;
+                timeout.next = null;
+                timeout.fire();
+                timeout = next;
+            }
+        }
+    }
+
+    // Called with the lock held. Every time a level wraps to slot 0 the current
+    // slot of the level above is re-distributed into the finer levels.
+    private void cascade() {
+        for (int level = 1; level < levels.length; level++) {
+            if (((currentTick >> ((level - 1) * wheelBits)) & wheelMask) != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >> (level * wheelBits)) & wheelMask);
+            Timeout timeout = levels[level][slot].drain();
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.next = null;
+                if (timeout.state == Timeout.PENDING) {
+                    place(timeout);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    // Called with the lock held.
+    private void place(Timeout timeout) {
+        long delta = timeout.expirationTick - currentTick;
+        for (int level = 0; level < levels.length; level++) {
+            if (delta < (1L << ((level + 1) * wheelBits)) || level == levels.length - 1) {
+                long span = Math.min(timeout.expirationTick, currentTick + (1L << ((level + 1) * wheelBits)) - 1);
+                int slot = (int) ((span >> (level * wheelBits)) & wheelMask);
+                levels[level][slot].add(timeout);
+                return;
+            }
+        }
+    }
+
+    private final class Bucket {
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        Timeout drain() {
+            Timeout drained = head;
+            for (Timeout t = head; t != null; t = t.next) {
+                t.bucket = null;
+                t.prev = null;
+            }
+            head = null;
+            return drained;
+        }
+    }
+
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private long expirationTick;
+        private int state = PENDING;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task) {
+            this.task = task;
+        }
+
+        public boolean cancel() {
+            synchronized (HierarchicalTimingWheel.this) {
+                if (state != PENDING) {
+                    return false;
+                }
+                state = CANCELLED;
+                pendingTimeouts--;
+                if (bucket != null) {
+                    bucket.remove(this);
+                }
+                return true;
+            }
+        }
+
+        public boolean isCancelled() {
+            synchronized (HierarchicalTimingWheel.this) {
+                return state == CANCELLED;
+            }
+        }
+
+        private void fire() {
+            synchronized (HierarchicalTimingWheel.this) {
+                if (state != PENDING) {
+                    return;
+                }
+                state = EXPIRED;
+                pendingTimeouts--;
+            }
+            taskExecutor.execute(task);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.codecollab.v1.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Ordered standings kept up to date one verdict at a time.
+ *
+ * Entries are sorted by score descending, then penalty ascending, then key. Ranks
+ * are stored next to the order and only the entries an update moves past are
+ * touched, so an update returns exactly the rank changes to broadcast and
+ * reading the top k walks k entries. Not thread-safe, callers synchronize.
+ */
+public class LeaderboardIndex {
+
+    private static final Comparator<Entry> ORDER = Comparator
+        .comparingInt((Entry e) -> -e.score)
+        .thenComparingLong(e -> e.penalty)
+        .thenComparing(e -> e.key);
+
+    private final NavigableSet<Entry> order = new TreeSet<>(ORDER);
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Integer> ranks = new HashMap<>();
+
+    /**
+     * Sets the score and penalty of a key and returns every entry whose rank
+     * changed, the updated one first. An unchanged standing returns nothing.
+     */
+    public List<Rank> update(String key, int score, long penalty) {
+        Entry previous = entries.get(key);
+        Entry updated = new Entry(key, score, penalty);
+        if (previous != null && previous.score == score && previous.penalty == penalty) {
+            return List.of();
+        }
+
+        // A new key starts below everyone and climbs to its place
+        int previousRank = previous == null ? order.size() + 1 : ranks.get(key);
+        if (previous != null) {
+            order.remove(previous);
+        }
+        order.add(updated);
+        entries.put(key, updated);
+
+        List<Rank> changes = new ArrayList<>();
+        changes.add(null); // placeholder for the updated entry
+        int newRank = previousRank;
+        if (previous == null || ORDER.compare(updated, previous) < 0) {
+            NavigableSet<Entry> passed = previous == null
+                ? order.tailSet(updated, false)
+                : order.subSet(updated, false, previous, false);
+            for (Entry entry : passed) {
+                changes.add(snapshot(entry, ranks.merge(entry.key, 1, Integer::sum)));
+                newRank--;
+            }
+        } else {
+            for (Entry entry : order.subSet(previous, false, updated, false)) {
+                changes.add(snapshot(entry, ranks.merge(entry.key, -1, Integer::sum)));
+                newRank++;
+            }
+        }
+        ranks.put(key, newRank);
+        changes.set(0, snapshot(updated, newRank));
+        return changes;
+    }
+
+    public List<Rank> top(int limit) {
+        List<Rank> top = new ArrayList<>(Math.min(limit, order.size()));
+        Iterator<Entry> iterator = order.iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            top.add(snapshot(entry, ranks.get(entry.key)));
+        }
+        return top;
+    }
+
+    public Rank get(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : snapshot(entry, ranks.get(key));
+    }
+
+    public int size() {
+        return order.size();
+    }
+
+    private static Rank snapshot(Entry entry, int rank) {
+        return new Rank(entry.key, entry.score, entry.penalty, rank);
+    }
+
+    public record Rank(String key, int score, long penalty, int rank) {}
+
+    private static final class Entry {
+        private final String key;
+        private final int score;
+        private final long penalty;
+
+        Entry(String key, int score, long penalty) {
+            this.key = key;
+            this.score = score;
+            this.penalty = penalty;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.codecollab.v1.util;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * MDC keys carried on every structured log line, and the glue that keeps them
+ * when work hops onto a pool thread (MDC is thread-local).
+ */
+public final class LogContext {
+
+    public static final String ROOM_CODE = "roomCode";
+    public static final String USER = "user";
+    public static final String SUBMISSION_ID = "submissionId";
+
+    private LogContext() {}
+
+    // Captures the caller's MDC now and runs the task under it, restoring the pool thread's own afterwards
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            apply(context);
+            try {
+                task.run();
+            } finally {
+                apply(previous);
+            }
+        };
+    }
+
+    // Correlates the lines of one execution; the submissions row id only exists once it is recorded
+    public static String newSubmissionId() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() >>> 16);
+    }
+
+    private static void apply(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
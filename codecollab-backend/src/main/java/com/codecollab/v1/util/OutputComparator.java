@@ -0,0 +1,59 @@
+package com.codecollab.v1.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte-level judging helpers so expected outputs can be compared straight
+ * from a mapped file. Trimming drops bytes up to 0x20 at both ends, which is
+ * exactly what String.trim() does on the UTF-8 decoded text.
+ */
+public final class OutputComparator {
+
+    // Cap for test data and outputs sent back to clients, the stored files can be megabytes
+    public static final int PREVIEW_BYTES = 4096;
+
+    private OutputComparator() {}
+
+    public static boolean matchesTrimmed(ByteBuffer expected, ByteBuffer actual) {
+        int expectedStart = firstContent(expected);
+        int expectedEnd = lastContent(expected, expectedStart);
+        int actualStart = firstContent(actual);
+        int actualEnd = lastContent(actual, actualStart);
+        if (expectedEnd - expectedStart != actualEnd - actualStart) {
+            return false;
+        }
+        return expected.slice(expected.position() + expectedStart, expectedEnd - expectedStart)
+            .equals(actual.slice(actual.position() + actualStart, actualEnd - actualStart));
+    }
+
+    // Trimmed text for verdict messages, cut to maxBytes so huge outputs never reach the client
+    public static String preview(ByteBuffer content, int maxBytes) {
+        int start = firstContent(content);
+        int end = lastContent(content, start);
+        int length = Math.min(end - start, maxBytes);
+        byte[] bytes = new byte[length];
+        content.get(content.position() + start, bytes);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        return length < end - start ? text + "... (" + (end - start) + " bytes)" : text;
+    }
+
+    // Offsets are relative to the buffer position
+    private static int firstContent(ByteBuffer buffer) {
+        int base = buffer.position();
+        int index = 0;
+        while (index < buffer.remaining() && (buffer.get(base + index) & 0xff) <= 0x20) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int lastContent(ByteBuffer buffer, int start) {
+        int base = buffer.position();
+        int end = buffer.remaining();
+        while (end > start && (buffer.get(base + end - 1) & 0xff) <= 0x20) {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,211 @@
+package com.codecollab.v1.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over problem title, category and description.
+ *
+ * Terms live in a sorted dictionary so the last word of a query can match as a
+ * prefix (search as you type) and autocomplete is a range scan. Every query term
+ * must match; hits are ranked by field-weighted term frequency times idf, and
+ * difficulty/category facet counts are taken over the text matches. Documents
+ * are replaced one at a time, so a saved problem never rebuilds the whole index.
+ */
+public class ProblemSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // term -> (document id -> field-weighted frequency)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Document document) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, document.title(), TITLE_WEIGHT);
+        addTerms(weights, document.category(), CATEGORY_WEIGHT);
+        addTerms(weights, document.description(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.id());
+            documents.put(document.id(), document);
+            documentTerms.put(document.id(), weights.keySet());
+            weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search. A blank query matches everything in id order. Null
+     * difficulty/category mean no filter; facet counts ignore those filters so
+     * the client can show what switching a facet would return.
+     */
+    public Result search(String query, String difficulty, String category, int limit) {
+        List<String> terms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = terms.isEmpty() ? matchAll() : match(terms);
+
+            Map<String, Integer> difficultyFacets = new TreeMap<>();
+            Map<String, Integer> categoryFacets = new TreeMap<>();
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                difficultyFacets.merge(document.difficulty(), 1, Integer::sum);
+                categoryFacets.merge(document.category(), 1, Integer::sum);
+                if ((difficulty == null || difficulty.equalsIgnoreCase(document.difficulty()))
+                        && (category == null || category.equalsIgnoreCase(document.category()))) {
+                    hits.add(new Hit(document.id(), entry.getValue()));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id));
+            int total = hits.size();
+            return new Result(List.copyOf(hits.subList(0, Math.min(limit, total))), total,
+                difficultyFacets, categoryFacets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indexed terms starting with the prefix, most common first
+    public List<String> suggest(String prefix, int limit) {
+        List<String> tokens = tokenize(prefix);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String start = tokens.get(tokens.size() - 1);
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<String, Map<Long, Integer>>> matches =
+                new ArrayList<>(postings.subMap(start, true, start + Character.MAX_VALUE, false).entrySet());
+            matches.sort(Comparator.comparingInt((Map.Entry<String, Map<Long, Integer>> e) -> -e.getValue().size())
+                .thenComparing(Map.Entry::getKey));
+            return matches.stream().limit(limit).map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Called with the read lock held
+    private Map<Long, Double> matchAll() {
+        Map<Long, Double> scores = new TreeMap<>();
+        documents.keySet().forEach(id -> scores.put(id, 0.0));
+        return scores;
+    }
+
+    // Called with the read lock held. All terms must match, the last one may be a prefix
+    private Map<Long, Double> match(List<String> terms) {
+        int documentCount = documents.size();
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            Map<Long, Double> termScores = new HashMap<>();
+            Map<String, Map<Long, Integer>> candidates = i == terms.size() - 1
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                : exact(term);
+            for (Map.Entry<String, Map<Long, Integer>> posting : candidates.entrySet()) {
+                double idf = Math.log(1.0 + (double) documentCount / posting.getValue().size());
+                // A completed word ranks above words it is only the prefix of
+                double exactness = posting.getKey().equals(term) ? 1.0 : 0.5;
+                posting.getValue().forEach((id, weight) ->
+                    termScores.merge(id, weight * idf * exactness, Math::max));
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Map<String, Map<Long, Integer>> exact(String term) {
+        Map<Long, Integer> posting = postings.get(term);
+        return posting == null ? Map.of() : Map.of(term, posting);
+    }
+
+    // Called with the write lock held
+    private void removeLocked(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public record Document(Long id, String title, String difficulty, String category, String description) {}
+
+    public record Hit(Long id, double score) {}
+
+    public record Result(List<Hit> hits, int total, Map<String, Integer> difficultyFacets,
+                         Map<String, Integer> categoryFacets) {}
+}
@@ -0,0 +1,159 @@
+package com.codecollab.v1.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Global rating ladder kept in memory.
+ *
+ * Users sit in one bucket per rating value, each sorted by id, and every bucket's
+ * size is counted in a Fenwick tree. Rank and percentile are O(log MAX_RATING)
+ * prefix sums instead of a count over the users table, and a "top N" page finds
+ * the bucket and position of its first user with a descent of the same tree, so
+ * deep pages cost no more than the first one.
+ */
+public class RatingIndex {
+
+    public static final int MAX_RATING = 5000;
+
+    private static final Comparator<Entry> BY_ID = Comparator.comparingLong(Entry::userId);
+
+    // buckets[r] holds the users rated r, in id order, which is the ladder order among equal ratings
+    private final List<List<Entry>> buckets = new ArrayList<>(MAX_RATING + 1);
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // counts[r + 1] covers rating r, standard 1-based Fenwick layout
+    private final long[] counts = new long[MAX_RATING + 2];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public RatingIndex() {
+        for (int rating = 0; rating <= MAX_RATING; rating++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    public void put(Long userId, String username, int rating) {
+        Entry updated = new Entry(userId, username, clamp(rating));
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(userId, updated);
+            if (previous != null) {
+                List<Entry> bucket = buckets.get(previous.rating);
+                bucket.remove(Collections.binarySearch(bucket, previous, BY_ID));
+                add(previous.rating, -1);
+            }
+            // Ids arrive mostly ascending (new users, the startup load), which appends without shifting
+            List<Entry> bucket = buckets.get(updated.rating);
+            bucket.add(-Collections.binarySearch(bucket, updated, BY_ID) - 1, updated);
+            add(updated.rating, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Integer rating(Long userId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(userId);
+            return entry == null ? null : entry.rating;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Standing> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int total = entries.size();
+            if (offset < 0 || limit <= 0 || offset >= total) {
+                return new ArrayList<>();
+            }
+            List<Standing> page = new ArrayList<>(Math.min(limit, total - offset));
+            // The ladder runs from the highest rating down, so the user at offset is the
+            // (total - 1 - offset)th from the bottom
+            int rating = ratingAt(total - 1 - offset);
+            int index = (int) (offset - (total - prefix(rating)));
+            for (; rating >= 0 && page.size() < limit; rating--, index = 0) {
+                List<Entry> bucket = buckets.get(rating);
+                // Equal ratings share a rank, so derive it from the counts rather than the position
+                for (; index < bucket.size() && page.size() < limit; index++) {
+                    page.add(standing(bucket.get(index)));
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Standing standing(Long userId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(userId);
+            return entry == null ? null : standing(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Called with a lock held
+    private Standing standing(Entry entry) {
+        long total = entries.size();
+        long below = prefix(entry.rating - 1);
+        long above = total - prefix(entry.rating);
+        double percentile = total <= 1 ? 100.0 : 100.0 * below / (total - 1);
+        return new Standing(entry.userId, entry.username, entry.rating, (int) above + 1, percentile);
+    }
+
+    private void add(int rating, long delta) {
+        for (int i = rating + 1; i < counts.length; i += i & -i) {
+            counts[i] += delta;
+        }
+    }
+
+    // Number of users rated at most rating
+    private long prefix(int rating) {
+        long sum = 0;
+        for (int i = Math.min(rating, MAX_RATING) + 1; i > 0; i -= i & -i) {
+            sum += counts[i];
+        }
+        return sum;
+    }
+
+    // Lowest rating with more than position users at or below it, found by walking the tree's
+    // powers of two from the top instead of a binary search over prefix sums
+    private int ratingAt(long position) {
+        int index = 0;
+        for (int step = Integer.highestOneBit(counts.length - 1); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < counts.length && counts[next] <= position) {
+                index = next;
+                position -= counts[next];
+            }
+        }
+        // index is the last slot whose prefix is at most position, slot index + 1 holds the answer
+        return index;
+    }
+
+    private static int clamp(int rating) {
+        return Math.max(0, Math.min(MAX_RATING, rating));
+    }
+
+    public record Standing(Long userId, String username, int rating, int rank, double percentile) {}
+
+    private record Entry(Long userId, String username, int rating) {}
+}
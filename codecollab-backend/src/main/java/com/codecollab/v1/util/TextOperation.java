@@ -0,0 +1,278 @@
+package com.codecollab.v1.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plain-text operation for operational transform, same model and wire format as ot.js:
+ * a positive integer retains characters, a negative integer deletes them and a
+ * string inserts text. An operation always spans the whole document it applies to.
+ */
+public class TextOperation {
+
+    private final List<Object> ops = new ArrayList<>();
+    private int baseLength = 0;
+    private int targetLength = 0;
+
+    public TextOperation retain(int n) {
+        if (n == 0) return this;
+        if (n < 0) throw new IllegalArgumentException("retain expects a positive integer");
+        baseLength += n;
+        targetLength += n;
+        if (!ops.isEmpty() && isRetain(last())) {
+            ops.set(ops.size() - 1, (Integer) last() + n);
+        } else {
+            ops.add(n);
+        }
+        return this;
+    }
+
+    public TextOperation insert(String str) {
+        if (str.isEmpty()) return this;
+        targetLength += str.length();
+        int size = ops.size();
+        if (size > 0 && isInsert(last())) {
+            ops.set(size - 1, last() + str);
+        } else if (size > 0 && isDelete(last())) {
+            // Keep inserts ahead of deletes so equal operations have one representation
+            if (size > 1 && isInsert(ops.get(size - 2))) {
+                ops.set(size - 2, ops.get(size - 2) + str);
+            } else {
+                ops.add(size - 1, str);
+            }
+        } else {
+            ops.add(str);
+        }
+        return this;
+    }
+
+    public TextOperation delete(int n) {
+        if (n == 0) return this;
+        if (n < 0) n = -n;
+        baseLength += n;
+        if (!ops.isEmpty() && isDelete(last())) {
+            ops.set(ops.size() - 1, (Integer) last() - n);
+        } else {
+            ops.add(-n);
+        }
+        return this;
+    }
+
+    public boolean isNoop() {
+        return ops.isEmpty() || (ops.size() == 1 && isRetain(ops.get(0)));
+    }
+
+    public String apply(String doc) {
+        if (doc.length() != baseLength) {
+            throw new IllegalArgumentException("Operation base length " + baseLength
+                + " does not match document length " + doc.length());
+        }
+        StringBuilder result = new StringBuilder(targetLength);
+        int index = 0;
+        for (Object op : ops) {
+            if (isRetain(op)) {
+                int n = (Integer) op;
+                result.append(doc, index, index + n);
+                index += n;
+            } else if (isInsert(op)) {
+                result.append((String) op);
+            } else {
+                index -= (Integer) op;
+            }
+        }
+        return result.toString();
+    }
+
+    // Combines two consecutive operations into one that has the same effect
+    public static TextOperation compose(TextOperation a, TextOperation b) {
+        if (a.targetLength != b.baseLength) {
+            throw new IllegalArgumentException("Target length of the first operation must equal base length of the second");
+        }
+        TextOperation composed = new TextOperation();
+        Cursor ca = new Cursor(a.ops);
+        Cursor cb = new Cursor(b.ops);
+        Object op1 = ca.next();
+        Object op2 = cb.next();
+        while (op1 != null || op2 != null) {
+            if (isDelete(op1)) {
+                composed.delete((Integer) op1);
+                op1 = ca.next();
+                continue;
+            }
+            if (isInsert(op2)) {
+                composed.insert((String) op2);
+                op2 = cb.next();
+                continue;
+            }
+            if (op1 == null || op2 == null) {
+                throw new IllegalArgumentException("Operations cannot be composed, one is too short");
+            }
+            if (isRetain(op1) && isRetain(op2)) {
+                int n1 = (Integer) op1, n2 = (Integer) op2;
+                composed.retain(Math.min(n1, n2));
+                op1 = n1 > n2 ? (Object) (n1 - n2) : null;
+                op2 = n2 > n1 ? (Object) (n2 - n1) : null;
+                if (op1 == null) op1 = ca.next();
+                if (op2 == null) op2 = cb.next();
+            } else if (isInsert(op1) && isDelete(op2)) {
+                String s1 = (String) op1;
+                int n2 = -(Integer) op2;
+                if (s1.length() > n2) {
+                    op1 = s1.substring(n2);
+                    op2 = cb.next();
+                } else if (s1.length() == n2) {
+                    op1 = ca.next();
+                    op2 = cb.next();
+                } else {
+                    op2 = -(n2 - s1.length());
+                    op1 = ca.next();
+                }
+            } else if (isInsert(op1) && isRetain(op2)) {
+                String s1 = (String) op1;
+                int n2 = (Integer) op2;
+                if (s1.length() > n2) {
+                    composed.insert(s1.substring(0, n2));
+                    op1 = s1.substring(n2);
+                    op2 = cb.next();
+                } else if (s1.length() == n2) {
+                    composed.insert(s1);
+                    op1 = ca.next();
+                    op2 = cb.next();
+                } else {
+                    composed.insert(s1);
+                    op2 = n2 - s1.length();
+                    op1 = ca.next();
+                }
+            } else {
+                // retain followed by delete
+                int n1 = (Integer) op1;
+                int n2 = -(Integer) op2;
+                if (n1 > n2) {
+                    composed.delete(n2);
+                    op1 = n1 - n2;
+                    op2 = cb.next();
+                } else if (n1 == n2) {
+                    composed.delete(n2);
+                    op1 = ca.next();
+                    op2 = cb.next();
+                } else {
+                    composed.delete(n1);
+                    op2 = -(n2 - n1);
+                    op1 = ca.next();
+                }
+            }
+        }
+        return composed;
+    }
+
+    /**
+     * Transforms two concurrent operations a and b into a' and b' such that
+     * apply(apply(S, a), b') == apply(apply(S, b), a'). Ties on inserts at the
+     * same position are broken in favour of a.
+     */
+    public static TextOperation[] transform(TextOperation a, TextOperation b) {
+        if (a.baseLength != b.baseLength) {
+            throw new IllegalArgumentException("Both operations have to have the same base length");
+        }
+        TextOperation aPrime = new TextOperation();
+        TextOperation bPrime = new TextOperation();
+        Cursor ca = new Cursor(a.ops);
+        Cursor cb = new Cursor(b.ops);
+        Object op1 = ca.next();
+        Object op2 = cb.next();
+        while (op1 != null || op2 != null) {
+            if (isInsert(op1)) {
+                aPrime.insert((String) op1);
+                bPrime.retain(((String) op1).length());
+                op1 = ca.next();
+                continue;
+            }
+            if (isInsert(op2)) {
+                aPrime.retain(((String) op2).length());
+                bPrime.insert((String) op2);
+                op2 = cb.next();
+                continue;
+            }
+            if (op1 == null || op2 == null) {
+                throw new IllegalArgumentException("Operations cannot be transformed, one is too short");
+            }
+            int n1 = Math.abs((Integer) op1);
+            int n2 = Math.abs((Integer) op2);
+            int min = Math.min(n1, n2);
+            if (isRetain(op1) && isRetain(op2)) {
+                aPrime.retain(min);
+                bPrime.retain(min);
+            } else if (isDelete(op1) && isDelete(op2)) {
+                // Both deleted the same text, nothing left to do for that span
+            } else if (isDelete(op1)) {
+                aPrime.delete(min);
+            } else {
+                bPrime.delete(min);
+            }
+            op1 = n1 > min ? remainder(op1, min) : ca.next();
+            op2 = n2 > min ? remainder(op2, min) : cb.next();
+        }
+        return new TextOperation[] { aPrime, bPrime };
+    }
+
+    public static TextOperation fromJson(List<?> json) {
+        TextOperation operation = new TextOperation();
+        for (Object op : json) {
+            if (op instanceof String) {
+                operation.insert((String) op);
+            } else if (op instanceof Number) {
+                int n = ((Number) op).intValue();
+                if (n > 0) {
+                    operation.retain(n);
+                } else {
+                    operation.delete(n);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown operation component: " + op);
+            }
+        }
+        return operation;
+    }
+
+    public List<Object> toJson() {
+        return Collections.unmodifiableList(ops);
+    }
+
+    public int getBaseLength() { return baseLength; }
+    public int getTargetLength() { return targetLength; }
+
+    private Object last() {
+        return ops.get(ops.size() - 1);
+    }
+
+    private static Object remainder(Object op, int consumed) {
+        int n = (Integer) op;
+        return n > 0 ? n - consumed : n + consumed;
+    }
+
+    private static boolean isRetain(Object op) {
+        return op instanceof Integer && (Integer) op > 0;
+    }
+
+    private static boolean isDelete(Object op) {
+        return op instanceof Integer && (Integer) op < 0;
+    }
+
+    private static boolean isInsert(Object op) {
+        return op instanceof String;
+    }
+
+    private static final class Cursor {
+        private final List<Object> ops;
+        private int index = 0;
+
+        Cursor(List<Object> ops) {
+            this.ops = ops;
+        }
+
+        Object next() {
+            return index < ops.size() ? ops.get(index++) : null;
+        }
+    }
+}
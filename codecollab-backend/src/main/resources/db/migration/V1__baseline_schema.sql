@@ -0,0 +1,144 @@
+-- Schema as previously generated by Hibernate (ddl-auto=create-drop), now owned by Flyway
+
+CREATE TABLE users (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    username      VARCHAR(50)  NOT NULL,
+    email         VARCHAR(100) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    rating        INTEGER DEFAULT 1200,
+    created_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE problems (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    title           VARCHAR(200) NOT NULL,
+    difficulty      VARCHAR(20)  NOT NULL,
+    category        VARCHAR(50)  NOT NULL,
+    description     TEXT         NOT NULL,
+    input_format    TEXT         NOT NULL,
+    output_format   TEXT         NOT NULL,
+    constraints     TEXT,
+    time_limit_ms   INTEGER DEFAULT 2000,
+    memory_limit_mb INTEGER DEFAULT 256,
+    sample_input    TEXT         NOT NULL,
+    sample_output   TEXT         NOT NULL,
+    explanation     TEXT,
+    created_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE test_cases (
+    id           BIGINT      NOT NULL,
+    problem_id   BIGINT      NOT NULL,
+    input_hash   VARCHAR(64) NOT NULL,
+    input_bytes  BIGINT      NOT NULL,
+    output_hash  VARCHAR(64) NOT NULL,
+    output_bytes BIGINT      NOT NULL,
+    is_sample    BOOLEAN DEFAULT FALSE,
+    points       INTEGER DEFAULT 10,
+    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_test_cases_problem FOREIGN KEY (problem_id) REFERENCES problems (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE rooms (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    room_code          VARCHAR(16)  NOT NULL,
+    room_name          VARCHAR(100) NOT NULL,
+    host_id            BIGINT       NOT NULL,
+    mode               VARCHAR(20)  NOT NULL,
+    status             VARCHAR(20)  NOT NULL,
+    max_members        INTEGER      NOT NULL,
+    current_members    INTEGER      NOT NULL,
+    current_problem_id BIGINT,
+    start_time         DATETIME(6),
+    end_time           DATETIME(6),
+    time_limit         INTEGER DEFAULT 0,
+    created_at         TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version            BIGINT,
+    last_activity      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rooms_room_code UNIQUE (room_code),
+    CONSTRAINT fk_rooms_host FOREIGN KEY (host_id) REFERENCES users (id),
+    CONSTRAINT fk_rooms_current_problem FOREIGN KEY (current_problem_id) REFERENCES problems (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE room_members (
+    id              BIGINT      NOT NULL,
+    room_id         BIGINT      NOT NULL,
+    user_id         BIGINT      NOT NULL,
+    role            VARCHAR(20) NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    joined_at       TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    left_at         DATETIME(6),
+    submission_time DATETIME(6),
+    score           INTEGER DEFAULT 0,
+    member_rank     INTEGER DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_room_members_room_user UNIQUE (room_id, user_id),
+    CONSTRAINT fk_room_members_room FOREIGN KEY (room_id) REFERENCES rooms (id),
+    CONSTRAINT fk_room_members_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE rounds (
+    id                 BIGINT NOT NULL,
+    room_id            BIGINT NOT NULL,
+    problem_id         BIGINT,
+    round_number       INTEGER,
+    mode               VARCHAR(255),
+    time_limit_seconds INTEGER,
+    start_time         DATETIME(6),
+    end_time           DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_rounds_room FOREIGN KEY (room_id) REFERENCES rooms (id),
+    CONSTRAINT fk_rounds_problem FOREIGN KEY (problem_id) REFERENCES problems (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE round_results (
+    id                BIGINT NOT NULL,
+    round_id          BIGINT NOT NULL,
+    user_id           BIGINT NOT NULL,
+    best_score        INTEGER,
+    best_status       VARCHAR(255),
+    attempts          INTEGER,
+    rejected_attempts INTEGER,
+    penalty_seconds   BIGINT,
+    best_submitted_at DATETIME(6),
+    result_rank       INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_round_results_round_user UNIQUE (round_id, user_id),
+    CONSTRAINT fk_round_results_round FOREIGN KEY (round_id) REFERENCES rounds (id),
+    CONSTRAINT fk_round_results_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE submissions (
+    id                BIGINT NOT NULL,
+    round_id          BIGINT NOT NULL,
+    user_id           BIGINT NOT NULL,
+    code              TEXT,
+    language          VARCHAR(255),
+    result_status     VARCHAR(255),
+    passed_count      INTEGER,
+    total_count       INTEGER,
+    execution_time_ms BIGINT,
+    auto_submitted    BIT(1),
+    submitted_at      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_submissions_round FOREIGN KEY (round_id) REFERENCES rounds (id),
+    CONSTRAINT fk_submissions_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+-- Pooled sequence ids (allocationSize 50), MySQL has no sequences so Hibernate uses one-row tables
+CREATE TABLE test_cases_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO test_cases_seq VALUES (1);
+CREATE TABLE room_members_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO room_members_seq VALUES (1);
+CREATE TABLE rounds_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO rounds_seq VALUES (1);
+CREATE TABLE round_results_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO round_results_seq VALUES (1);
+CREATE TABLE submissions_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO submissions_seq VALUES (1);
@@ -0,0 +1,26 @@
+-- Indexes for the room, member and test case queries on the request path.
+-- InnoDB secondary indexes carry the primary key, so id never needs listing.
+
+-- RoomMemberRepository: findByRoomAndStatus, countByRoomAndStatus, findRoomLeaderboard,
+-- markLeftInRooms, and findMemberViews answered from the index alone
+CREATE INDEX idx_room_members_room_status
+    ON room_members (room_id, status, user_id, role, joined_at, score, member_rank);
+
+-- RoomMemberRepository: findActiveRoomsByUser, findActiveRoomMembershipsByUser
+CREATE INDEX idx_room_members_user_status ON room_members (user_id, status, room_id);
+
+-- RoomRepository: findByHostAndStatus, findActiveRoomsByHost, findByHost
+CREATE INDEX idx_rooms_host_status ON rooms (host_id, status);
+
+-- RoomRepository: findByStatus and the reaper scans (findStaleWaitingRooms, findEndedRooms),
+-- whose COALESCE(last_activity, created_at) filter is checked inside the index
+CREATE INDEX idx_rooms_status_activity ON rooms (status, last_activity, created_at);
+
+-- TestCaseRepository: findByProblemId, findByProblemIdAndIsSample
+CREATE INDEX idx_test_cases_problem_sample ON test_cases (problem_id, is_sample);
+
+-- RoundRepository: latest/open round of a room, closeOpenRounds
+CREATE INDEX idx_rounds_room_number ON rounds (room_id, round_number);
+
+-- SubmissionRepository: findByRoundAndUserOrderBySubmittedAtDesc
+CREATE INDEX idx_submissions_round_user_time ON submissions (round_id, user_id, submitted_at);
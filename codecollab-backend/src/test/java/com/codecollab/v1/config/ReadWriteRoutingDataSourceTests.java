@@ -0,0 +1,129 @@
+package com.codecollab.v1.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs real @Transactional calls through JpaTransactionManager against two H2
+ * databases that each hold a marker row naming themselves.
+ */
+@SpringJUnitConfig(ReadWriteRoutingDataSourceTests.Config.class)
+@TestPropertySource(properties = {
+	"spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1"
+})
+class ReadWriteRoutingDataSourceTests {
+
+	@Autowired
+	private MarkerReader reader;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primary;
+
+	@BeforeEach
+	void createMarkers() {
+		createMarker(primary, "primary");
+		// The replica pool is read-only, so seed it through a plain connection
+		createMarker(new DriverManagerDataSource(
+			"jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1", "sa", ""), "replica");
+	}
+
+	@Test
+	void readOnlyTransactionsAreServedByTheReplica() {
+		assertEquals("replica", reader.readOnly());
+	}
+
+	@Test
+	void readWriteTransactionsAreServedByThePrimary() {
+		assertEquals("primary", reader.readWrite());
+	}
+
+	@Test
+	void eachTransactionIsRoutedOnItsOwn() {
+		assertEquals("primary", reader.readWrite());
+		assertEquals("replica", reader.readOnly());
+		assertEquals("primary", reader.readWrite());
+	}
+
+	private static void createMarker(DataSource dataSource, String name) {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table if not exists marker (name varchar(16))");
+		jdbc.update("delete from marker");
+		jdbc.update("insert into marker (name) values (?)", name);
+	}
+
+	static class MarkerReader {
+
+		@PersistenceContext
+		private EntityManager entityManager;
+
+		@Transactional(readOnly = true)
+		public String readOnly() {
+			return read();
+		}
+
+		@Transactional
+		public String readWrite() {
+			return read();
+		}
+
+		private String read() {
+			return (String) entityManager.createNativeQuery("select name from marker").getSingleResult();
+		}
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	@EnableConfigurationProperties(DataSourceProperties.class)
+	@Import(DataSourceConfig.class)
+	static class Config {
+
+		@Bean
+		public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+			LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+			factory.setDataSource(dataSource);
+			factory.setPackagesToScan(ReadWriteRoutingDataSourceTests.class.getPackageName());
+			factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+			factory.setJpaPropertyMap(Map.of("hibernate.connection.handling_mode",
+				"DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION"));
+			return factory;
+		}
+
+		@Bean
+		public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+			return new JpaTransactionManager(entityManagerFactory);
+		}
+
+		@Bean
+		public MarkerReader markerReader() {
+			return new MarkerReader();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.codecollab.v1.config;
+
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.service.LiveRoomRegistry;
+import com.codecollab.v1.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StompChannelInterceptorTests {
+
+	private final RoomMemberRepository roomMemberRepository = mock(RoomMemberRepository.class);
+	private final LiveRoomRegistry liveRoomRegistry = new LiveRoomRegistry();
+
+	private StompChannelInterceptor interceptor;
+
+	@BeforeEach
+	void setUp() {
+		interceptor = new StompChannelInterceptor(mock(JwtUtil.class), liveRoomRegistry, roomMemberRepository);
+
+		// ROOM01 has a round running with alice seated, WAITING1 is only in the database with bob
+		User alice = new User("alice", "alice@example.com", "hash");
+		Room room = new Room("ROOM01", "Room", alice, Room.RoomMode.TOURNAMENT);
+		RoomMember seat = new RoomMember(room, alice, RoomMember.MemberRole.HOST);
+		seat.setId(100L);
+		liveRoomRegistry.open(room, List.of(seat));
+		when(roomMemberRepository.existsSeat(eq("WAITING1"), eq("bob"), anyCollection())).thenReturn(true);
+	}
+
+	@Test
+	void membersSubscribeToTheirRoom() {
+		assertDoesNotThrow(() -> interceptor.preSend(subscribe("/topic/rooms/ROOM01", "alice"), null));
+		assertDoesNotThrow(() -> interceptor.checkSubscription("/topic/rooms/ROOM01/submissions", "alice"));
+		assertDoesNotThrow(() -> interceptor.checkSubscription("/topic/rooms/ROOM01/documents/main", "alice"));
+		assertDoesNotThrow(() -> interceptor.checkSubscription("/topic/rooms/ROOM01/documents/alice", "alice"));
+		assertDoesNotThrow(() -> interceptor.checkSubscription("/topic/rooms/WAITING1", "bob"));
+		assertDoesNotThrow(() -> interceptor.checkSubscription("/user/queue/errors", "bob"));
+	}
+
+	@Test
+	void outsidersAndPatternsAreRejected() {
+		assertThrows(MessagingException.class,
+			() -> interceptor.preSend(subscribe("/topic/rooms/ROOM01/submissions", "bob"), null));
+		assertThrows(MessagingException.class, () -> interceptor.checkSubscription("/topic/rooms/WAITING1", "alice"));
+		assertThrows(MessagingException.class,
+			() -> interceptor.checkSubscription("/topic/rooms/ROOM01/documents/bob", "alice"));
+		assertThrows(MessagingException.class, () -> interceptor.checkSubscription("/topic/**", "alice"));
+		assertThrows(MessagingException.class, () -> interceptor.checkSubscription("/topic/rooms/ROOM01/**", "alice"));
+		assertThrows(MessagingException.class,
+			() -> interceptor.checkSubscription("/topic/rooms/ROOM01/documents/{docId}", "alice"));
+		assertThrows(MessagingException.class,
+			() -> interceptor.checkSubscription("/topic/rooms/ROOM01/documents/b?b", "alice"));
+	}
+
+	private static Message<byte[]> subscribe(String destination, String username) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+		accessor.setDestination(destination);
+		accessor.setUser(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+		accessor.setLeaveMutable(true);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+}
@@ -0,0 +1,88 @@
+package com.codecollab.v1.repository;
+
+import com.codecollab.v1.entity.Problem;
+import com.codecollab.v1.entity.TestCase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Problems and test cases sit in the second-level cache but can still be edited:
+ * each step runs in its own transaction, so reads after the edit go through the cache.
+ */
+@DataJpaTest(properties = {
+	"spring.flyway.enabled=false",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.datasource.url=jdbc:h2:mem:cached-entities;DB_CLOSE_DELAY=-1",
+	"spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CachedEntityUpdateTests {
+
+	@Autowired
+	private ProblemRepository problemRepository;
+
+	@Autowired
+	private TestCaseRepository testCaseRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void editedProblemAndTestCaseAreSavedAndReadBack() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		Long problemId = problemRepository.save(problem("Two Sum")).getId();
+		Long testCaseId = testCaseRepository.save(testCase(problemRepository.findById(problemId).orElseThrow(), 10)).getId();
+		// Warm the cache before editing
+		transaction.executeWithoutResult(status -> {
+			problemRepository.findById(problemId).orElseThrow();
+			testCaseRepository.findById(testCaseId).orElseThrow();
+		});
+
+		transaction.executeWithoutResult(status -> {
+			Problem problem = problemRepository.findById(problemId).orElseThrow();
+			problem.setTitle("Two Sum II");
+			problemRepository.save(problem);
+			TestCase testCase = testCaseRepository.findById(testCaseId).orElseThrow();
+			testCase.setPoints(20);
+			testCaseRepository.save(testCase);
+		});
+
+		assertEquals("Two Sum II", problemRepository.findById(problemId).orElseThrow().getTitle());
+		assertEquals(20, testCaseRepository.findById(testCaseId).orElseThrow().getPoints());
+	}
+
+	private static Problem problem(String title) {
+		Problem problem = new Problem();
+		problem.setTitle(title);
+		problem.setDifficulty(Problem.Difficulty.EASY);
+		problem.setCategory("Arrays");
+		problem.setDescription("Find two numbers that add up to the target");
+		problem.setInputFormat("n, the numbers, the target");
+		problem.setOutputFormat("The two indices");
+		problem.setSampleInput("4\n2 7 11 15\n9");
+		problem.setSampleOutput("0 1");
+		return problem;
+	}
+
+	private static TestCase testCase(Problem problem, int points) {
+		TestCase testCase = new TestCase();
+		testCase.setProblem(problem);
+		testCase.setInputHash("a".repeat(64));
+		testCase.setInputBytes(1L);
+		testCase.setOutputHash("b".repeat(64));
+		testCase.setOutputBytes(1L);
+		testCase.setIsSample(false);
+		testCase.setPoints(points);
+		return testCase;
+	}
+}
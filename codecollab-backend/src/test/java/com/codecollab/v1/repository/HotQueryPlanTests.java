@@ -0,0 +1,254 @@
+package com.codecollab.v1.repository;
+
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the hot RoomMemberRepository, RoomRepository and TestCaseRepository calls
+ * against a throwaway MySQL container built by the Flyway migrations and seeded
+ * with a realistic spread of rows. Every statement Hibernate sends for a call is
+ * recorded by {@link StatementRecorder} with the values bound to it, and the test
+ * fails if its EXPLAIN reads a whole table or a whole index.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+	// Every call has to reach the database
+	"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+	"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StatementRecorder.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotQueryPlanTests {
+
+	@Container
+	@ServiceConnection
+	static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@Autowired
+	private RoomMemberRepository roomMemberRepository;
+
+	@Autowired
+	private RoomRepository roomRepository;
+
+	@Autowired
+	private TestCaseRepository testCaseRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	Stream<Arguments> hotCalls() {
+		LocalDateTime now = LocalDateTime.now();
+		List<RoomMember.MemberStatus> seated = List.of(RoomMember.MemberStatus.JOINED, RoomMember.MemberStatus.DISCONNECTED);
+		return Stream.of(
+			call("RoomMemberRepository.findByRoomAndStatus",
+				() -> roomMemberRepository.findByRoomAndStatus(room(7), RoomMember.MemberStatus.JOINED)),
+			call("RoomMemberRepository.findByRoomAndStatusIn",
+				() -> roomMemberRepository.findByRoomAndStatusIn(room(7), seated)),
+			call("RoomMemberRepository.findByRoomInAndStatusIn",
+				() -> roomMemberRepository.findByRoomInAndStatusIn(List.of(room(7), room(8)), seated)),
+			call("RoomMemberRepository.countByRoomAndStatus",
+				() -> roomMemberRepository.countByRoomAndStatus(room(7), RoomMember.MemberStatus.JOINED)),
+			call("RoomMemberRepository.findByRoomAndUser",
+				() -> roomMemberRepository.findByRoomAndUser(room(7), user(29))),
+			call("RoomMemberRepository.existsByRoomAndUser",
+				() -> roomMemberRepository.existsByRoomAndUser(room(7), user(29))),
+			call("RoomMemberRepository.findByIdForUpdate",
+				() -> roomMemberRepository.findByIdForUpdate(29L)),
+			call("RoomMemberRepository.findActiveRoomsByUser",
+				() -> roomMemberRepository.findActiveRoomsByUser(user(29))),
+			call("RoomMemberRepository.findActiveRoomMembershipsByUser",
+				() -> roomMemberRepository.findActiveRoomMembershipsByUser(user(29))),
+			call("RoomMemberRepository.findRoomLeaderboard",
+				() -> roomMemberRepository.findRoomLeaderboard(room(7))),
+			call("RoomMemberRepository.findMemberViews",
+				() -> roomMemberRepository.findMemberViews(room(7))),
+			call("RoomMemberRepository.findByIdInAndStatusIn",
+				() -> roomMemberRepository.findByIdInAndStatusIn(List.of(1L, 2L, 3L), seated)),
+			call("RoomMemberRepository.updateStatus",
+				() -> roomMemberRepository.updateStatus(List.of(1L, 2L, 3L), RoomMember.MemberStatus.DISCONNECTED)),
+			call("RoomMemberRepository.markLeft",
+				() -> roomMemberRepository.markLeft(List.of(1L, 2L, 3L), now)),
+			call("RoomMemberRepository.markLeftInRooms",
+				() -> roomMemberRepository.markLeftInRooms(List.of(7L, 8L), now)),
+			call("RoomRepository.findByRoomCode",
+				() -> roomRepository.findByRoomCode("R000042")),
+			call("RoomRepository.findByHostAndStatus",
+				() -> roomRepository.findByHostAndStatus(user(29), Room.RoomStatus.ACTIVE)),
+			call("RoomRepository.findActiveRoomsByHost",
+				() -> roomRepository.findActiveRoomsByHost(user(29))),
+			call("RoomRepository.findByHost",
+				() -> roomRepository.findByHost(user(29))),
+			call("RoomRepository.findByStatus",
+				() -> roomRepository.findByStatus(Room.RoomStatus.ACTIVE)),
+			call("RoomRepository.findStaleWaitingRooms",
+				() -> roomRepository.findStaleWaitingRooms(now.minusHours(2), PageRequest.of(0, 500))),
+			call("RoomRepository.findEndedRooms",
+				() -> roomRepository.findEndedRooms(now.minusDays(1), PageRequest.of(0, 500))),
+			call("RoomRepository.endRooms",
+				() -> roomRepository.endRooms(List.of(1L, 2L, 3L), now)),
+			call("RoomRepository.archiveRooms",
+				() -> roomRepository.archiveRooms(List.of(1L, 2L, 3L))),
+			call("RoomRepository.touchRooms",
+				() -> roomRepository.touchRooms(List.of("R000001", "R000002"), now)),
+			call("RoomRepository.existsByRoomCode",
+				() -> roomRepository.existsByRoomCode("R000042")),
+			call("RoomRepository.findExistingRoomCodes",
+				() -> roomRepository.findExistingRoomCodes(List.of("R000001", "R000002", "NOPE00"))),
+			call("TestCaseRepository.findByProblemId",
+				() -> testCaseRepository.findByProblemId(3L)),
+			call("TestCaseRepository.findByProblemIdAndIsSample",
+				() -> testCaseRepository.findByProblemIdAndIsSample(3L, true)));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("hotCalls")
+	void doesNotScanAWholeTableOrIndex(String name, Runnable repositoryCall) throws SQLException {
+		List<StatementRecorder.Recorded> statements = record(repositoryCall);
+		assertFalse(statements.isEmpty(), "No SQL recorded for " + name);
+
+		try (Connection connection = dataSource.getConnection()) {
+			for (StatementRecorder.Recorded statement : statements) {
+				List<String> plan = new ArrayList<>();
+				try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+					for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+						explain.setObject(parameter.getKey(), parameter.getValue());
+					}
+					try (ResultSet rows = explain.executeQuery()) {
+						while (rows.next()) {
+							String table = rows.getString("table");
+							String type = rows.getString("type");
+							plan.add(table + ":" + type + ":" + rows.getString("key"));
+							assertFalse("ALL".equals(type) || "index".equals(type),
+								"Full scan of " + table + " (" + type + ") in " + name + ": " + statement.sql()
+									+ "\nplan: " + plan);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	// Writes are rolled back so every call sees the same seeded rows
+	private List<StatementRecorder.Recorded> record(Runnable repositoryCall) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		List<StatementRecorder.Recorded> recorded;
+		StatementRecorder.start();
+		try {
+			transaction.executeWithoutResult(status -> {
+				status.setRollbackOnly();
+				repositoryCall.run();
+			});
+		} finally {
+			recorded = StatementRecorder.stop();
+		}
+		return recorded;
+	}
+
+	private Room room(long id) {
+		return roomRepository.getReferenceById(id);
+	}
+
+	private User user(long id) {
+		return userRepository.getReferenceById(id);
+	}
+
+	private static Arguments call(String name, Runnable repositoryCall) {
+		return Arguments.of(name, repositoryCall);
+	}
+
+	// Most rooms are long finished, as in production; the live ones are a small slice
+	@BeforeAll
+	void seed() throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+			batch(connection, "INSERT INTO users (id, username, email, password_hash) VALUES (?, ?, ?, 'x')", 500,
+				(ps, i) -> { ps.setLong(1, i + 1); ps.setString(2, "user" + i); ps.setString(3, "user" + i + "@example.com"); });
+			batch(connection, "INSERT INTO problems (id, title, difficulty, category, description, input_format, " +
+				"output_format, sample_input, sample_output) VALUES (?, ?, 'EASY', 'ARRAYS', 'd', 'i', 'o', 's', 's')", 100,
+				(ps, i) -> { ps.setLong(1, i + 1); ps.setString(2, "Problem " + i); });
+			batch(connection, "INSERT INTO test_cases (id, problem_id, input_hash, input_bytes, output_hash, " +
+				"output_bytes, is_sample) VALUES (?, ?, 'h', 1, 'h', 1, ?)", 2000,
+				(ps, i) -> { ps.setLong(1, i + 1); ps.setLong(2, i % 100 + 1); ps.setBoolean(3, i % 20 == 0); });
+			String[] statuses = { "ARCHIVED", "ARCHIVED", "ARCHIVED", "ARCHIVED", "ARCHIVED", "ARCHIVED", "ARCHIVED",
+				"ENDED", "ENDED", "WAITING", "ACTIVE" };
+			batch(connection, "INSERT INTO rooms (id, room_code, room_name, host_id, mode, status, max_members, " +
+				"current_members, version, last_activity) VALUES (?, ?, 'room', ?, 'PRACTICE', ?, 4, 4, 0, ?)", 5000,
+				(ps, i) -> {
+					ps.setLong(1, i + 1);
+					ps.setString(2, String.format("R%06d", i + 1));
+					ps.setLong(3, i % 500 + 1);
+					ps.setString(4, statuses[i % statuses.length]);
+					ps.setTimestamp(5, now);
+				});
+			batch(connection, "INSERT INTO room_members (id, room_id, user_id, role, status) VALUES (?, ?, ?, ?, ?)", 20000,
+				(ps, i) -> {
+					int room = i / 4;
+					ps.setLong(1, i + 1);
+					ps.setLong(2, room + 1);
+					ps.setLong(3, (room * 4L + i % 4) % 500 + 1);
+					ps.setString(4, i % 4 == 0 ? "HOST" : "MEMBER");
+					ps.setString(5, statuses[room % statuses.length].equals("ARCHIVED") ? "LEFT" : "JOINED");
+				});
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("ANALYZE TABLE users, problems, test_cases, rooms, room_members");
+			}
+		}
+	}
+
+	private static void batch(Connection connection, String sql, int rows, RowWriter writer) throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement(sql)) {
+			for (int i = 0; i < rows; i++) {
+				writer.write(ps, i);
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+	}
+
+	private interface RowWriter {
+		void write(PreparedStatement ps, int row) throws SQLException;
+	}
+}
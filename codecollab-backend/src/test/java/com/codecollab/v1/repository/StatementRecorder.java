@@ -0,0 +1,98 @@
+package com.codecollab.v1.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Wraps the DataSource and, while {@link #start()} is in effect on the calling thread,
+ * records every prepared statement Hibernate executes together with the values bound to it.
+ */
+class StatementRecorder implements BeanPostProcessor {
+
+	record Recorded(String sql, Map<Integer, Object> parameters) {}
+
+	private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+		"executeLargeUpdate", "addBatch");
+
+	private static final ThreadLocal<List<Recorded>> recording = new ThreadLocal<>();
+
+	static void start() {
+		recording.set(new ArrayList<>());
+	}
+
+	static List<Recorded> stop() {
+		List<Recorded> recorded = recording.get();
+		recording.remove();
+		return recorded;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!(bean instanceof DataSource dataSource)) {
+			return bean;
+		}
+		return new DelegatingDataSource(dataSource) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				return recording(super.getConnection());
+			}
+
+			@Override
+			public Connection getConnection(String username, String password) throws SQLException {
+				return recording(super.getConnection(username, password));
+			}
+		};
+	}
+
+	private static Connection recording(Connection connection) {
+		return proxy(Connection.class, connection, (method, args, result) ->
+			method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement
+				? recording(statement, (String) args[0]) : result);
+	}
+
+	private static PreparedStatement recording(PreparedStatement statement, String sql) {
+		Map<Integer, Object> parameters = new TreeMap<>();
+		return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+			String name = method.getName();
+			if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+				parameters.put(index, name.equals("setNull") ? null : args[1]);
+			} else if (EXECUTE.contains(name) && (args == null || args.length == 0)) {
+				List<Recorded> recorded = recording.get();
+				if (recorded != null) {
+					recorded.add(new Recorded(sql, new TreeMap<>(parameters)));
+				}
+			}
+			return result;
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			try {
+				return afterCall.apply(method, args, method.invoke(target, args));
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		};
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	private interface AfterCall {
+		Object apply(Method method, Object[] args, Object result) throws Throwable;
+	}
+}
@@ -0,0 +1,116 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import com.codecollab.v1.entity.Problem;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.event.RoundExpiredEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AutoSubmitServiceTests {
+
+	private final RoomService roomService = mock(RoomService.class);
+	private final ProblemService problemService = mock(ProblemService.class);
+	private final CodeExecutionService executionService = mock(CodeExecutionService.class);
+	private final RoomDraftService draftService = mock(RoomDraftService.class);
+	private final RoundService roundService = mock(RoundService.class);
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+
+	private ThreadPoolTaskExecutor executor;
+	private AutoSubmitService service;
+	private Room room;
+	private RoomMember online;
+	private RoomMember disconnected;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(4);
+		executor.initialize();
+
+		service = new AutoSubmitService();
+		ReflectionTestUtils.setField(service, "roomService", roomService);
+		ReflectionTestUtils.setField(service, "problemService", problemService);
+		ReflectionTestUtils.setField(service, "executionService", executionService);
+		ReflectionTestUtils.setField(service, "draftService", draftService);
+		ReflectionTestUtils.setField(service, "roundService", roundService);
+		ReflectionTestUtils.setField(service, "messagingTemplate", messagingTemplate);
+		ReflectionTestUtils.setField(service, "autoSubmitExecutor", executor);
+
+		User alice = new User("alice", "alice@example.com", "hash");
+		User bob = new User("bob", "bob@example.com", "hash");
+		Problem problem = new Problem();
+		problem.setId(7L);
+		room = new Room("ROOM01", "Room", alice, Room.RoomMode.TOURNAMENT);
+		room.setCurrentProblem(problem);
+		online = new RoomMember(room, alice, RoomMember.MemberRole.HOST);
+		disconnected = new RoomMember(room, bob, RoomMember.MemberRole.MEMBER);
+		disconnected.setStatus(RoomMember.MemberStatus.DISCONNECTED);
+
+		when(roomService.expireSession("ROOM01")).thenReturn(Optional.of(room));
+		when(roomService.getSeatedMembers(room)).thenReturn(List.of(online, disconnected));
+		when(problemService.getTestCases(7L)).thenReturn(List.of(new TestCase()));
+		when(draftService.getDraft(eq("ROOM01"), anyString())).thenAnswer(invocation ->
+			Optional.of(new RoomDraftService.Draft("code of " + invocation.getArgument(1), "java", LocalDateTime.now())));
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void everySeatedMemberIsRunInParallelBeforeTheRoundIsFinished() throws Exception {
+		// Both executions must be in flight at once to get past the barrier
+		CyclicBarrier bothRunning = new CyclicBarrier(2);
+		when(executionService.executeCode(anyString(), eq("java"), anyList(), eq(CodeExecutionService.Priority.HIGH)))
+			.thenAnswer(invocation -> {
+				bothRunning.await(5, TimeUnit.SECONDS);
+				return new ExecutionResult("ACCEPTED", "");
+			});
+
+		service.onRoundExpired(new RoundExpiredEvent("ROOM01", LocalDateTime.now()));
+
+		verify(roomService, timeout(5000)).finishRound(room);
+		InOrder order = inOrder(roundService, roomService);
+		order.verify(roundService, times(2)).recordSubmission(eq(room), any(RoomMember.class), anyString(),
+			eq("java"), any(ExecutionResult.class), eq(true));
+		order.verify(roomService).finishRound(room);
+		verify(roundService).recordSubmission(eq(room), eq(disconnected), eq("code of bob"), eq("java"),
+			any(ExecutionResult.class), eq(true));
+		verify(draftService, timeout(5000)).clearRoom("ROOM01");
+	}
+
+	@Test
+	void oneFailingMemberDoesNotHoldBackTheRound() throws Exception {
+		when(executionService.executeCode(eq("code of alice"), anyString(), anyList(), any()))
+			.thenThrow(new IllegalStateException("Judge0 went away"));
+		when(executionService.executeCode(eq("code of bob"), anyString(), anyList(), any()))
+			.thenReturn(new ExecutionResult("ACCEPTED", ""));
+
+		service.onRoundExpired(new RoundExpiredEvent("ROOM01", LocalDateTime.now()));
+
+		verify(roomService, timeout(5000)).finishRound(room);
+		verify(roundService).recordSubmission(eq(room), eq(disconnected), anyString(), anyString(),
+			any(ExecutionResult.class), eq(true));
+		verify(roundService, never()).recordSubmission(eq(room), eq(online), anyString(), anyString(),
+			any(ExecutionResult.class), anyBoolean());
+	}
+}
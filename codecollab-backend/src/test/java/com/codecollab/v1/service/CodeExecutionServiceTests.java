@@ -0,0 +1,96 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import com.codecollab.v1.entity.TestCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CodeExecutionServiceTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final AtomicInteger submissions = new AtomicInteger();
+
+	private CodeExecutionService service;
+	private TestCase testCase;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// Every submission finishes with a runtime error whose stderr reads as a connection failure
+		String stderr = Base64.getEncoder().encodeToString("Connection refused".getBytes(StandardCharsets.UTF_8));
+		WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+			String body = "{\"status\":{\"id\":11,\"description\":\"Runtime Error (NZEC)\"},\"stderr\":\"" + stderr + "\"}";
+			if (request.method() == HttpMethod.POST) {
+				submissions.incrementAndGet();
+				body = "{\"token\":\"t" + submissions.get() + "\"}";
+			}
+			return Mono.just(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.body(body)
+				.build());
+		});
+		service = new CodeExecutionService(builder);
+
+		ExecutionMetrics executionMetrics = new ExecutionMetrics();
+		ReflectionTestUtils.setField(executionMetrics, "registry", registry);
+		ExecutionTracing executionTracing = new ExecutionTracing();
+		ReflectionTestUtils.setField(executionTracing, "registry", ObservationRegistry.create());
+		TestDataStore testDataStore = mock(TestDataStore.class);
+		ReflectionTestUtils.setField(service, "executionMetrics", executionMetrics);
+		ReflectionTestUtils.setField(service, "executionTracing", executionTracing);
+		ReflectionTestUtils.setField(service, "testDataStore", testDataStore);
+
+		testCase = new TestCase();
+		testCase.setId(1L);
+		when(testDataStore.input(testCase)).thenAnswer(invocation -> ByteBuffer.allocate(0));
+		when(testDataStore.expectedOutput(testCase))
+			.thenAnswer(invocation -> ByteBuffer.wrap("ok".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		Thread.interrupted();
+	}
+
+	@Test
+	void countsOneRetryPerResubmission() {
+		ExecutionResult.TestCaseResult result = run();
+
+		assertFalse(result.isPassed());
+		assertEquals(3, submissions.get());
+		assertEquals(2.0, registry.get("execution.retries").counter().count());
+	}
+
+	@Test
+	void interruptedRetryIsNotCounted() {
+		Thread.currentThread().interrupt();
+
+		ExecutionResult.TestCaseResult result = run();
+
+		assertTrue(result.getError().startsWith("Runtime Error"));
+		assertEquals(1, submissions.get());
+		assertNull(registry.find("execution.retries").counter());
+	}
+
+	private ExecutionResult.TestCaseResult run() {
+		return ReflectionTestUtils.invokeMethod(service, "executeTestCaseWithRetry", "print(1)", "python", testCase);
+	}
+}
@@ -0,0 +1,88 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.DocumentOperation;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CollaborationServiceTests {
+
+	private final RoomRepository roomRepository = mock(RoomRepository.class);
+	private final RoomMemberRepository roomMemberRepository = mock(RoomMemberRepository.class);
+
+	private CollaborationService service;
+	private Room room;
+	private RoomMember aliceSeat;
+
+	@BeforeEach
+	void setUp() {
+		service = new CollaborationService();
+		ReflectionTestUtils.setField(service, "roomRepository", roomRepository);
+		ReflectionTestUtils.setField(service, "roomMemberRepository", roomMemberRepository);
+		ReflectionTestUtils.setField(service, "draftService", mock(RoomDraftService.class));
+		ReflectionTestUtils.setField(service, "messagingTemplate", mock(SimpMessagingTemplate.class));
+
+		User alice = new User("alice", "alice@example.com", "hash");
+		room = new Room("ROOM01", "Room", alice, Room.RoomMode.TOURNAMENT);
+		aliceSeat = new RoomMember(room, alice, RoomMember.MemberRole.HOST);
+		when(roomRepository.findByRoomCode("ROOM01")).thenReturn(Optional.of(room));
+		when(roomMemberRepository.findByRoomAndStatus(room, RoomMember.MemberStatus.JOINED))
+			.thenAnswer(invocation -> aliceSeat.getStatus() == RoomMember.MemberStatus.JOINED
+				? List.of(aliceSeat) : List.of());
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void memberWhoLeftCannotKeepEditing() throws Exception {
+		service.receive("ROOM01", "main", "alice", insert(0, "a"));
+		service.receive("ROOM01", "alice", "alice", insert(0, "b"));
+
+		aliceSeat.setStatus(RoomMember.MemberStatus.LEFT);
+		service.removeParticipant("ROOM01", "alice");
+
+		Exception e = assertThrows(Exception.class, () -> service.receive("ROOM01", "main", "alice", insert(1, "c")));
+		assertEquals("You are not an active member of this room", e.getMessage());
+		assertThrows(Exception.class, () -> service.receive("ROOM01", "alice", "alice", insert(1, "c")));
+		assertEquals("a", service.currentText("ROOM01", "main").orElseThrow());
+	}
+
+	@Test
+	void removalWaitsForTheLeaveToCommit() throws Exception {
+		service.receive("ROOM01", "main", "alice", insert(0, "a"));
+		TransactionSynchronizationManager.initSynchronization();
+
+		service.removeParticipant("ROOM01", "alice");
+		service.receive("ROOM01", "main", "alice", insert(1, "b"));
+
+		aliceSeat.setStatus(RoomMember.MemberStatus.LEFT);
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		assertThrows(Exception.class, () -> service.receive("ROOM01", "main", "alice", insert(2, "c")));
+		assertEquals("ab", service.currentText("ROOM01", "main").orElseThrow());
+	}
+
+	private static DocumentOperation insert(int revision, String text) {
+		List<Object> ops = revision == 0 ? List.of(text) : List.of(revision, text);
+		return new DocumentOperation(revision, null, revision, ops);
+	}
+}
@@ -0,0 +1,82 @@
+package com.codecollab.v1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTests {
+
+	private PasswordHashingService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new PasswordHashingService();
+		ReflectionTestUtils.setField(service, "ipMaxAttempts", 1000);
+		ReflectionTestUtils.setField(service, "ipWindowSeconds", 60L);
+		ReflectionTestUtils.setField(service, "userMaxFailures", 3);
+		ReflectionTestUtils.setField(service, "userWindowSeconds", 300L);
+		ReflectionTestUtils.setField(service, "globalMaxFailures", 10);
+		ReflectionTestUtils.setField(service, "globalWindowSeconds", 900L);
+		ReflectionTestUtils.setField(service, "maxKeys", 1000);
+		service.init();
+	}
+
+	@Test
+	void guessingFromOneAddressDoesNotLockTheOwnerOut() {
+		for (int i = 0; i < 3; i++) {
+			service.recordFailure("203.0.113.9", "alice");
+		}
+
+		assertTooManyRequests(() -> service.checkUser("203.0.113.9", "Alice"));
+		assertDoesNotThrow(() -> service.checkUser("198.51.100.7", "alice"));
+	}
+
+	@Test
+	void guessesSpreadOverManyAddressesHitTheUsernameCeiling() {
+		for (int i = 0; i < 10; i++) {
+			service.recordFailure("203.0.113." + i, "alice");
+		}
+
+		assertTooManyRequests(() -> service.checkUser("198.51.100.7", "alice"));
+		assertDoesNotThrow(() -> service.checkUser("198.51.100.7", "bob"));
+	}
+
+	@Test
+	void successClearsOnlyThatAddress() {
+		for (int i = 0; i < 3; i++) {
+			service.recordFailure("203.0.113.9", "alice");
+			service.recordFailure("198.51.100.7", "alice");
+		}
+
+		service.recordSuccess("198.51.100.7", "alice");
+
+		assertDoesNotThrow(() -> service.checkUser("198.51.100.7", "alice"));
+		assertTooManyRequests(() -> service.checkUser("203.0.113.9", "alice"));
+	}
+
+	@Test
+	void floodOfUnknownUsernamesLocksNobodyOut() {
+		ReflectionTestUtils.setField(service, "maxKeys", 3);
+		service.init();
+
+		for (int i = 0; i < 50; i++) {
+			service.checkClient("203.0.113." + i);
+			service.recordUnknownUser("203.0.113." + i, "nobody" + i);
+		}
+
+		assertDoesNotThrow(() -> service.checkUser("198.51.100.7", "alice"));
+		for (int i = 0; i < 10; i++) {
+			service.recordFailure("192.0.2." + i, "alice");
+		}
+		assertTooManyRequests(() -> service.checkUser("198.51.100.7", "alice"));
+	}
+
+	private static void assertTooManyRequests(Runnable check) {
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, check::run);
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+	}
+}
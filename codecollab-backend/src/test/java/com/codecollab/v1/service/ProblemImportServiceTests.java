@@ -0,0 +1,80 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ImportReport;
+import com.codecollab.v1.entity.Problem;
+import com.codecollab.v1.util.ContentAddressedStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProblemImportServiceTests {
+
+	private final EntityManager entityManager = mock(EntityManager.class);
+	private final TestDataStore testDataStore = mock(TestDataStore.class);
+
+	private ProblemImportService service;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		service = new ProblemImportService();
+		ReflectionTestUtils.setField(service, "entityManager", entityManager);
+		ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(service, "testDataStore", testDataStore);
+		ReflectionTestUtils.setField(service, "problemCatalog", mock(ProblemCatalog.class));
+		ReflectionTestUtils.setField(service, "problemSearchService", mock(ProblemSearchService.class));
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "batchSize", 200);
+
+		when(testDataStore.store(any())).thenReturn(new ContentAddressedStore.Blob("hash", 1));
+	}
+
+	@Test
+	void strayFileOfAnEarlierProblemIsReportedAndTheRestImported() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+			problem(zip, "a", false);
+			problem(zip, "b", true);
+			add(zip, "problems/a/tests/1.out", "2");
+			problem(zip, "c", true);
+		}
+
+		ImportReport report = service.importArchive(new ByteArrayInputStream(bytes.toByteArray()));
+
+		assertEquals(2, report.getProblemsImported());
+		assertEquals(2, report.getTestCasesImported());
+		assertEquals(1, report.getProblemsSkipped());
+		assertTrue(report.getErrors().stream().anyMatch(error -> error.contains("problems/a/tests/1.out")));
+		verify(entityManager, times(2)).persist(any(Problem.class));
+	}
+
+	private static void problem(ZipOutputStream zip, String name, boolean withOutput) throws IOException {
+		add(zip, "problems/" + name + "/problem.json", """
+			{"title": "%s", "difficulty": "easy", "category": "arrays", "description": "d",
+			 "inputFormat": "i", "outputFormat": "o", "sampleInput": "1", "sampleOutput": "2"}
+			""".formatted(name));
+		add(zip, "problems/" + name + "/tests/1.in", "1");
+		if (withOutput) {
+			add(zip, "problems/" + name + "/tests/1.out", "2");
+		}
+	}
+
+	private static void add(ZipOutputStream zip, String path, String content) throws IOException {
+		zip.putNextEntry(new ZipEntry(path));
+		zip.write(content.getBytes(StandardCharsets.UTF_8));
+		zip.closeEntry();
+	}
+}
@@ -0,0 +1,75 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.TestCaseContent;
+import com.codecollab.v1.entity.TestCase;
+import com.codecollab.v1.util.OutputComparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProblemServiceTests {
+
+	private final TestSetCache testSetCache = mock(TestSetCache.class);
+	private final TestDataStore testDataStore = mock(TestDataStore.class);
+
+	private ProblemService service;
+	private TestCase sample;
+	private TestCase hidden;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		service = new ProblemService();
+		ReflectionTestUtils.setField(service, "testSetCache", testSetCache);
+		ReflectionTestUtils.setField(service, "testDataStore", testDataStore);
+
+		sample = testCase(1L, true);
+		hidden = testCase(2L, false);
+		when(testSetCache.get(7L)).thenReturn(
+			new TestSetCache.TestSet(1, List.of(sample, hidden), List.of(sample), List.of(hidden), 0));
+		when(testDataStore.input(sample)).thenAnswer(invocation -> bytes("1 2\n"));
+		when(testDataStore.expectedOutput(sample)).thenAnswer(invocation -> bytes("3\n"));
+		when(testDataStore.input(hidden)).thenAnswer(invocation -> bytes("x".repeat(100_000)));
+		when(testDataStore.expectedOutput(hidden)).thenAnswer(invocation -> bytes("y"));
+	}
+
+	@Test
+	void samplesCarryTheirText() {
+		List<TestCaseContent> samples = service.getSampleTestCaseContents(7L);
+
+		assertEquals(1, samples.size());
+		assertEquals(1L, samples.get(0).getId());
+		assertEquals("1 2", samples.get(0).getInputData());
+		assertEquals("3", samples.get(0).getExpectedOutput());
+		assertTrue(samples.get(0).getIsSample());
+	}
+
+	@Test
+	void largeTestDataIsCappedLikeVerdictPreviews() {
+		TestCaseContent big = service.getTestCaseContents(7L).get(1);
+
+		assertTrue(big.getInputData().startsWith("x".repeat(OutputComparator.PREVIEW_BYTES) + "..."));
+		assertTrue(big.getInputData().endsWith("(100000 bytes)"));
+		assertEquals("y", big.getExpectedOutput());
+	}
+
+	private static TestCase testCase(Long id, boolean isSample) {
+		TestCase testCase = new TestCase();
+		testCase.setId(id);
+		testCase.setIsSample(isSample);
+		testCase.setInputHash("hash-in-" + id);
+		testCase.setOutputHash("hash-out-" + id);
+		return testCase;
+	}
+
+	private static ByteBuffer bytes(String text) {
+		return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,81 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RatingServiceTests {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+	private RatingService service;
+	private User alice;
+	private User bob;
+
+	@BeforeEach
+	void setUp() {
+		service = new RatingService();
+		ReflectionTestUtils.setField(service, "userRepository", mock(UserRepository.class));
+		ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(service, "userCache", mock(UserCache.class));
+
+		alice = new User("alice", "alice@example.com", "hash");
+		alice.setId(1L);
+		alice.setRating(1200);
+		bob = new User("bob", "bob@example.com", "hash");
+		bob.setId(2L);
+		bob.setRating(1200);
+		service.track(alice);
+		service.track(bob);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void ladderMovesOnlyOnceTheBatchCommits() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		service.applyTournamentResult(placements());
+
+		verify(jdbcTemplate).batchUpdate(eq("UPDATE users SET rating = rating + ? WHERE id = ?"), anyList());
+		assertEquals(1200, service.standing(alice).rating());
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		assertEquals(1216, service.standing(alice).rating());
+		assertEquals(1184, service.standing(bob).rating());
+	}
+
+	@Test
+	void rolledBackResultLeavesTheLadderAlone() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		service.applyTournamentResult(placements());
+		TransactionSynchronizationManager.getSynchronizations()
+			.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertEquals(1200, service.standing(alice).rating());
+		assertEquals(1, service.standing(alice).rank());
+	}
+
+	private List<RatingService.Placement> placements() {
+		return List.of(
+			new RatingService.Placement(1L, "alice", 1200, 300, 10),
+			new RatingService.Placement(2L, "bob", 1200, 100, 40));
+	}
+}
@@ -0,0 +1,86 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RoomServiceTests {
+
+	private final RoomRepository roomRepository = mock(RoomRepository.class);
+	private final RoomMemberRepository roomMemberRepository = mock(RoomMemberRepository.class);
+	private final RoundTimerService roundTimerService = mock(RoundTimerService.class);
+	private final CollaborationService collaborationService = mock(CollaborationService.class);
+	private final LeaderboardService leaderboardService = mock(LeaderboardService.class);
+	private final RoundService roundService = mock(RoundService.class);
+	private final LiveRoomRegistry liveRoomRegistry = new LiveRoomRegistry();
+
+	private RoomService service;
+	private User alice;
+	private Room room;
+	private RoomMember aliceSeat;
+
+	@BeforeEach
+	void setUp() {
+		service = new RoomService();
+		ReflectionTestUtils.setField(service, "roomRepository", roomRepository);
+		ReflectionTestUtils.setField(service, "roomMemberRepository", roomMemberRepository);
+		ReflectionTestUtils.setField(service, "roundTimerService", roundTimerService);
+		ReflectionTestUtils.setField(service, "collaborationService", collaborationService);
+		ReflectionTestUtils.setField(service, "leaderboardService", leaderboardService);
+		ReflectionTestUtils.setField(service, "roundService", roundService);
+		ReflectionTestUtils.setField(service, "liveRoomRegistry", liveRoomRegistry);
+
+		alice = new User("alice", "alice@example.com", "hash");
+		alice.setId(1L);
+		room = new Room("ROOM01", "Room", alice, Room.RoomMode.TOURNAMENT);
+		room.setId(10L);
+		room.setStatus(Room.RoomStatus.ACTIVE);
+		aliceSeat = new RoomMember(room, alice, RoomMember.MemberRole.HOST);
+		aliceSeat.setId(100L);
+		liveRoomRegistry.open(room, List.of(aliceSeat));
+
+		when(roomMemberRepository.findByRoomAndUser(room, alice)).thenReturn(Optional.of(aliceSeat));
+		when(roomMemberRepository.countByRoomAndStatus(room, RoomMember.MemberStatus.JOINED)).thenReturn(1L, 0L);
+	}
+
+	@Test
+	void lastMemberLeavingEndsTheRoundAndTheRoom() throws Exception {
+		when(roomMemberRepository.countByRoomAndStatus(room, RoomMember.MemberStatus.DISCONNECTED)).thenReturn(0L);
+
+		service.leaveRoom(room, alice);
+
+		assertEquals(Room.RoomStatus.ENDED, room.getStatus());
+		verify(roundTimerService).cancel("ROOM01");
+		verify(roundService).closeRound(room);
+		verify(leaderboardService).closeRoom("ROOM01");
+		verify(collaborationService).closeRoom("ROOM01");
+		verify(collaborationService).removeParticipant("ROOM01", "alice");
+		assertTrue(liveRoomRegistry.get("ROOM01").isEmpty());
+	}
+
+	@Test
+	void disconnectedMemberKeepsTheRoomOpen() throws Exception {
+		when(roomMemberRepository.countByRoomAndStatus(room, RoomMember.MemberStatus.DISCONNECTED)).thenReturn(1L);
+
+		service.leaveRoom(room, alice);
+
+		assertEquals(Room.RoomStatus.ACTIVE, room.getStatus());
+		verify(collaborationService).removeParticipant("ROOM01", "alice");
+		verify(roundTimerService, never()).cancel(anyString());
+		verify(roundService, never()).closeRound(any());
+		verify(leaderboardService, never()).closeRoom(anyString());
+		assertTrue(liveRoomRegistry.get("ROOM01").isPresent());
+	}
+}
@@ -0,0 +1,119 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.dto.ExecutionResult;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.Round;
+import com.codecollab.v1.entity.RoundResult;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.repository.RoomRepository;
+import com.codecollab.v1.repository.RoundResultRepository;
+import com.codecollab.v1.repository.SubmissionRepository;
+import com.codecollab.v1.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Overlapping submissions of one member against a real database. Each call runs
+ * in its own transaction, as it does behind the submit endpoint.
+ */
+@DataJpaTest(properties = {
+	"spring.flyway.enabled=false",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.datasource.url=jdbc:h2:mem:round-concurrency;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+	"spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(RoundService.class)
+class RoundServiceConcurrencyTests {
+
+	private static final int SUBMISSIONS = 8;
+
+	@MockitoBean
+	private LeaderboardService leaderboardService;
+
+	@Autowired
+	private RoundService roundService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoomRepository roomRepository;
+
+	@Autowired
+	private RoomMemberRepository roomMemberRepository;
+
+	@Autowired
+	private RoundResultRepository roundResultRepository;
+
+	@Autowired
+	private SubmissionRepository submissionRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void overlappingSubmissionsOfOneMemberAreAllRecorded() throws Exception {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		Object[] seeded = transaction.execute(status -> {
+			User user = userRepository.save(new User("racer", "racer@example.com", "hash"));
+			Room room = new Room("RACE01", "Race", user, Room.RoomMode.PRACTICE);
+			room.setStartTime(LocalDateTime.now());
+			room = roomRepository.save(room);
+			RoomMember member = roomMemberRepository.save(new RoomMember(room, user, RoomMember.MemberRole.HOST));
+			Round round = roundService.openRound(room);
+			return new Object[] {member.getId(), round.getId()};
+		});
+		Long memberId = (Long) seeded[0];
+		Long roundId = (Long) seeded[1];
+
+		ExecutorService pool = Executors.newFixedThreadPool(SUBMISSIONS);
+		CyclicBarrier start = new CyclicBarrier(SUBMISSIONS);
+		List<Future<?>> submissions = new ArrayList<>();
+		try {
+			for (int i = 0; i < SUBMISSIONS; i++) {
+				int passed = i;
+				submissions.add(pool.submit(() -> {
+					start.await();
+					ExecutionResult result = new ExecutionResult("WA", "");
+					result.setPassedTestCases(passed);
+					result.setTotalTestCases(SUBMISSIONS);
+					return roundService.recordSubmission("RACE01", memberId, "code", "java", result);
+				}));
+			}
+			for (Future<?> submission : submissions) {
+				assertTrue(((java.util.Optional<?>) submission.get(30, TimeUnit.SECONDS)).isPresent());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		List<RoundResult> results = roundResultRepository.findStandings(roundId);
+		assertEquals(1, results.size());
+		assertEquals(SUBMISSIONS, results.get(0).getAttempts());
+		assertEquals(SUBMISSIONS, submissionRepository.count());
+	}
+}
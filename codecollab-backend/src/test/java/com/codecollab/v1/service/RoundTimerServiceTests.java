@@ -0,0 +1,102 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.Problem;
+import com.codecollab.v1.entity.Room;
+import com.codecollab.v1.entity.RoomMember;
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.RoomMemberRepository;
+import com.codecollab.v1.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RoundTimerServiceTests {
+
+	private final RoomRepository roomRepository = mock(RoomRepository.class);
+	private final RoomMemberRepository roomMemberRepository = mock(RoomMemberRepository.class);
+	private final LiveRoomRegistry liveRoomRegistry = new LiveRoomRegistry();
+
+	private RoundTimerService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new RoundTimerService();
+		ReflectionTestUtils.setField(service, "roomRepository", roomRepository);
+		ReflectionTestUtils.setField(service, "roomMemberRepository", roomMemberRepository);
+		ReflectionTestUtils.setField(service, "liveRoomRegistry", liveRoomRegistry);
+		ReflectionTestUtils.setField(service, "eventPublisher", mock(ApplicationEventPublisher.class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void restartRestoresTimersAndLiveRoomsOfActiveRounds() {
+		User alice = user(1L, "alice");
+		User bob = user(2L, "bob");
+		Room timed = room(10L, "TIMED1", alice, 5L, LocalDateTime.now().plusMinutes(30));
+		Room untimed = room(11L, "OPEN01", bob, 6L, null);
+		RoomMember aliceSeat = member(100L, timed, alice, RoomMember.MemberStatus.JOINED);
+		RoomMember bobSeat = member(101L, timed, bob, RoomMember.MemberStatus.DISCONNECTED);
+		RoomMember bobHost = member(102L, untimed, bob, RoomMember.MemberStatus.JOINED);
+		when(roomRepository.findByStatus(Room.RoomStatus.ACTIVE)).thenReturn(List.of(timed, untimed));
+		when(roomMemberRepository.findByRoomInAndStatusIn(eq(List.of(timed, untimed)), anyCollection()))
+			.thenReturn(List.of(aliceSeat, bobSeat, bobHost));
+
+		service.rearmActiveRooms();
+
+		LiveRoomRegistry.LiveRoom live = liveRoomRegistry.get("timed1").orElseThrow();
+		assertEquals(10L, live.getRoomId());
+		assertEquals(5L, live.getProblemId());
+		assertEquals(100L, live.memberId("alice").orElseThrow());
+		assertEquals(101L, live.memberId("bob").orElseThrow());
+		assertEquals(102L, liveRoomRegistry.get("OPEN01").orElseThrow().memberId("bob").orElseThrow());
+		assertTrue(liveRoomRegistry.get("OPEN01").orElseThrow().memberId("alice").isEmpty());
+		assertEquals(1, service.activeTimers());
+	}
+
+	@Test
+	void nothingToRestoreWithoutActiveRooms() {
+		when(roomRepository.findByStatus(Room.RoomStatus.ACTIVE)).thenReturn(List.of());
+
+		service.rearmActiveRooms();
+
+		verifyNoInteractions(roomMemberRepository);
+		assertEquals(0, service.activeTimers());
+	}
+
+	private static User user(Long id, String username) {
+		User user = new User(username, username + "@example.com", "hash");
+		user.setId(id);
+		return user;
+	}
+
+	private static Room room(Long id, String code, User host, Long problemId, LocalDateTime endTime) {
+		Problem problem = new Problem();
+		problem.setId(problemId);
+		Room room = new Room(code, code, host, Room.RoomMode.TOURNAMENT);
+		room.setId(id);
+		room.setStatus(Room.RoomStatus.ACTIVE);
+		room.setCurrentProblem(problem);
+		room.setEndTime(endTime);
+		return room;
+	}
+
+	private static RoomMember member(Long id, Room room, User user, RoomMember.MemberStatus status) {
+		RoomMember member = new RoomMember(room, user, RoomMember.MemberRole.MEMBER);
+		member.setId(id);
+		member.setStatus(status);
+		return member;
+	}
+}
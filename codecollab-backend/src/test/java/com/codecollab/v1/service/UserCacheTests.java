@@ -0,0 +1,55 @@
+package com.codecollab.v1.service;
+
+import com.codecollab.v1.entity.User;
+import com.codecollab.v1.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCacheTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+
+	private UserCache cache;
+	private User alice;
+
+	@BeforeEach
+	void setUp() {
+		cache = new UserCache();
+		ReflectionTestUtils.setField(cache, "userRepository", userRepository);
+		ReflectionTestUtils.setField(cache, "cacheSize", 100);
+		ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+		cache.init();
+
+		alice = new User("alice", "alice@example.com", "hash");
+		alice.setId(1L);
+		alice.setRating(1200);
+		when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+	}
+
+	@Test
+	void usernameLookupsAreServedFromTheIdEntry() {
+		cache.put(alice);
+
+		assertEquals(1200, cache.getByUsername("alice").orElseThrow().rating());
+		assertEquals(1L, cache.getById(1L).orElseThrow().id());
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	void invalidatingAnIdAlsoDropsTheUsernameHit() {
+		cache.put(alice);
+		alice.setRating(1250);
+
+		cache.invalidateAll(List.of(1L));
+
+		assertEquals(1250, cache.getByUsername("alice").orElseThrow().rating());
+		verify(userRepository).findByUsername("alice");
+	}
+}
@@ -0,0 +1,81 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttemptThrottleTests {
+
+	@Test
+	void blocksAfterMaxAttemptsUntilTheWindowEnds() {
+		AtomicLong now = new AtomicLong(0);
+		AttemptThrottle throttle = new AttemptThrottle(3, 1000, 100, now::get);
+
+		assertTrue(throttle.tryAcquire("10.0.0.1"));
+		assertTrue(throttle.tryAcquire("10.0.0.1"));
+		assertTrue(throttle.tryAcquire("10.0.0.1"));
+		assertFalse(throttle.tryAcquire("10.0.0.1"));
+		assertTrue(throttle.tryAcquire("10.0.0.2"));
+
+		now.set(999);
+		assertFalse(throttle.isAllowed("10.0.0.1"));
+		now.set(1000);
+		assertTrue(throttle.tryAcquire("10.0.0.1"));
+	}
+
+	@Test
+	void onlyRecordedAttemptsCount() {
+		AtomicLong now = new AtomicLong(0);
+		AttemptThrottle throttle = new AttemptThrottle(2, 1000, 100, now::get);
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(throttle.isAllowed("alice"));
+		}
+		throttle.record("alice");
+		throttle.record("alice");
+		assertFalse(throttle.isAllowed("alice"));
+
+		throttle.reset("alice");
+		assertTrue(throttle.isAllowed("alice"));
+	}
+
+	@Test
+	void fullTableLetsNewKeysThroughWithoutEvicting() {
+		AtomicLong now = new AtomicLong(0);
+		AttemptThrottle throttle = new AttemptThrottle(1, 1000, 3, now::get);
+
+		throttle.record("victim");
+		assertFalse(throttle.isAllowed("victim"));
+		assertTrue(throttle.tryAcquire("a"));
+		assertTrue(throttle.tryAcquire("b"));
+		// Full: the flood goes through uncounted and the blocked key stays blocked
+		assertTrue(throttle.tryAcquire("c"));
+		assertTrue(throttle.tryAcquire("c"));
+		assertFalse(throttle.isAllowed("victim"));
+		assertEquals(3, throttle.size());
+
+		now.set(1000);
+		assertEquals(0, throttle.size());
+		assertTrue(throttle.tryAcquire("c"));
+		assertFalse(throttle.isAllowed("c"));
+		assertTrue(throttle.isAllowed("victim"));
+	}
+
+	@Test
+	void windowsExpireInTheOrderTheyStarted() {
+		AtomicLong now = new AtomicLong(0);
+		AttemptThrottle throttle = new AttemptThrottle(1, 1000, 100, now::get);
+
+		throttle.record("first");
+		now.set(400);
+		throttle.record("second");
+		now.set(1000);
+		assertTrue(throttle.isAllowed("first"));
+		assertFalse(throttle.isAllowed("second"));
+		assertEquals(1, throttle.size());
+		now.set(1400);
+		assertEquals(0, throttle.size());
+	}
+}
@@ -0,0 +1,57 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentAddressedStoreTests {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void storesIdenticalContentOnce() throws Exception {
+		ContentAddressedStore store = new ContentAddressedStore(root, 1 << 20);
+
+		ContentAddressedStore.Blob first = store.put("1 2 3\n");
+		ContentAddressedStore.Blob second = store.put(new ByteArrayInputStream("1 2 3\n".getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(first, second);
+		assertEquals(6, first.length());
+		assertEquals(64, first.hash().length());
+		try (Stream<Path> files = Files.walk(root)) {
+			assertEquals(1, files.filter(Files::isRegularFile).count());
+		}
+	}
+
+	@Test
+	void mapsIndependentReadOnlyViews() throws Exception {
+		ContentAddressedStore store = new ContentAddressedStore(root, 1 << 20);
+		String hash = store.put("hello").hash();
+
+		ByteBuffer a = store.map(hash);
+		ByteBuffer b = store.map(hash);
+		a.get();
+
+		assertTrue(a.isReadOnly());
+		assertEquals(4, a.remaining());
+		assertEquals(5, b.remaining());
+		assertEquals("hello", StandardCharsets.UTF_8.decode(b).toString());
+		assertTrue(store.contains(hash));
+	}
+
+	@Test
+	void rejectsAnythingThatIsNotAHash() throws Exception {
+		ContentAddressedStore store = new ContentAddressedStore(root, 1 << 20);
+
+		assertThrows(IllegalArgumentException.class, () -> store.map("../../etc/passwd"));
+	}
+}
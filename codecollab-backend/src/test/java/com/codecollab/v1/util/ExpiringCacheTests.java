@@ -0,0 +1,41 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTests {
+
+	private final AtomicLong now = new AtomicLong(1_000);
+
+	@Test
+	void entriesExpireAtTheirOwnInstant() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(10, now::get);
+		cache.put("short", "a", 1_100);
+		cache.put("long", "b", 5_000);
+		cache.put("past", "c", 900);
+
+		assertEquals("a", cache.get("short"));
+		assertNull(cache.get("past"));
+
+		now.set(1_100);
+		assertNull(cache.get("short"));
+		assertEquals("b", cache.get("long"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedWhenFull() {
+		ExpiringCache<String, Integer> cache = new ExpiringCache<>(2, now::get);
+		cache.put("a", 1, 10_000);
+		cache.put("b", 2, 10_000);
+		cache.get("a");
+		cache.put("c", 3, 10_000);
+
+		assertEquals(1, cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals(3, cache.get("c"));
+	}
+}
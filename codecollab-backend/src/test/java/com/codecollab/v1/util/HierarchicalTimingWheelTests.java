@@ -0,0 +1,54 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTests {
+
+	// Small wheel so timers have to cascade through every level
+	private final HierarchicalTimingWheel wheel = new HierarchicalTimingWheel("test", 5, 4, 3, Runnable::run);
+
+	@AfterEach
+	void shutdown() {
+		wheel.shutdown();
+	}
+
+	@Test
+	void firesEveryTimerNoEarlierThanItsDelay() throws Exception {
+		long[] delays = {1, 7, 19, 33, 80, 150, 320, 400};
+		CountDownLatch latch = new CountDownLatch(delays.length);
+		Map<Long, Long> firedAfter = new ConcurrentHashMap<>();
+		long start = System.nanoTime();
+
+		for (long delay : delays) {
+			wheel.schedule(delay, () -> {
+				firedAfter.put(delay, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				latch.countDown();
+			});
+		}
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		for (long delay : delays) {
+			assertTrue(firedAfter.get(delay) >= delay - 5, "timer " + delay + " fired at " + firedAfter.get(delay));
+		}
+		assertEquals(0, wheel.pendingTimeouts());
+	}
+
+	@Test
+	void cancelledTimerNeverFires() throws Exception {
+		CountDownLatch fired = new CountDownLatch(1);
+		HierarchicalTimingWheel.Timeout timeout = wheel.schedule(60, fired::countDown);
+
+		assertTrue(timeout.cancel());
+		assertFalse(timeout.cancel());
+		assertFalse(fired.await(300, TimeUnit.MILLISECONDS));
+		assertEquals(0, wheel.pendingTimeouts());
+	}
+}
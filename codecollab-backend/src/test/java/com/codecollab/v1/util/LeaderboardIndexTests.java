@@ -0,0 +1,69 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardIndexTests {
+
+	@Test
+	void ordersByScoreThenPenalty() {
+		LeaderboardIndex index = new LeaderboardIndex();
+		index.update("alice", 100, 600);
+		index.update("bob", 100, 300);
+		index.update("carol", 50, 10);
+
+		List<LeaderboardIndex.Rank> top = index.top(3);
+		assertEquals(List.of("bob", "alice", "carol"), top.stream().map(LeaderboardIndex.Rank::key).toList());
+		assertEquals(List.of(1, 2, 3), top.stream().map(LeaderboardIndex.Rank::rank).toList());
+	}
+
+	@Test
+	void returnsOnlyTheRanksThatMoved() {
+		LeaderboardIndex index = new LeaderboardIndex();
+		index.update("a", 300, 0);
+		index.update("b", 200, 0);
+		index.update("c", 100, 0);
+		index.update("d", 50, 0);
+
+		// d climbs past b and c, a keeps first place and is not reported
+		List<LeaderboardIndex.Rank> changes = index.update("d", 250, 0);
+		assertEquals(new LeaderboardIndex.Rank("d", 250, 0, 2), changes.get(0));
+		assertEquals(List.of("b", "c"), changes.subList(1, changes.size()).stream().map(LeaderboardIndex.Rank::key).toList());
+		assertEquals(3, index.get("b").rank());
+		assertEquals(4, index.get("c").rank());
+
+		assertTrue(index.update("d", 250, 0).isEmpty());
+	}
+
+	@Test
+	void ranksMatchAFullSortAfterRandomUpdates() {
+		LeaderboardIndex index = new LeaderboardIndex();
+		Map<String, int[]> expected = new TreeMap<>();
+		Random random = new Random(7);
+
+		for (int i = 0; i < 2000; i++) {
+			String key = "user" + random.nextInt(40);
+			int score = random.nextInt(10) * 10;
+			int penalty = random.nextInt(5);
+			index.update(key, score, penalty);
+			expected.put(key, new int[] { score, penalty });
+		}
+
+		List<String> sorted = new ArrayList<>(expected.keySet());
+		sorted.sort(Comparator.<String>comparingInt(k -> -expected.get(k)[0])
+			.thenComparingInt(k -> expected.get(k)[1])
+			.thenComparing(k -> k));
+		for (int i = 0; i < sorted.size(); i++) {
+			assertEquals(i + 1, index.get(sorted.get(i)).rank(), sorted.get(i));
+		}
+		assertEquals(sorted.subList(0, 5), index.top(5).stream().map(LeaderboardIndex.Rank::key).toList());
+	}
+}
@@ -0,0 +1,63 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogContextTests {
+
+	@AfterEach
+	void clearMdc() {
+		MDC.clear();
+	}
+
+	@Test
+	void wrappedTaskSeesTheCallersContextOnAnotherThread() throws Exception {
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			MDC.put(LogContext.ROOM_CODE, "ABC123");
+			MDC.put(LogContext.SUBMISSION_ID, "42");
+			AtomicReference<String> room = new AtomicReference<>();
+			AtomicReference<String> submission = new AtomicReference<>();
+
+			pool.submit(LogContext.wrap(() -> {
+				room.set(MDC.get(LogContext.ROOM_CODE));
+				submission.set(MDC.get(LogContext.SUBMISSION_ID));
+			})).get();
+
+			assertEquals("ABC123", room.get());
+			assertEquals("42", submission.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void restoresThePoolThreadsContextAfterwards() {
+		MDC.put(LogContext.USER, "alice");
+		Runnable task = LogContext.wrap(() -> assertEquals("alice", MDC.get(LogContext.USER)));
+
+		MDC.clear();
+		MDC.put(LogContext.ROOM_CODE, "POOL");
+		task.run();
+
+		assertEquals("POOL", MDC.get(LogContext.ROOM_CODE));
+		assertNull(MDC.get(LogContext.USER));
+	}
+
+	@Test
+	void capturesAnEmptyContext() {
+		Runnable task = LogContext.wrap(() -> assertNull(MDC.get(LogContext.ROOM_CODE)));
+
+		MDC.put(LogContext.ROOM_CODE, "POOL");
+		task.run();
+
+		assertEquals("POOL", MDC.get(LogContext.ROOM_CODE));
+	}
+}
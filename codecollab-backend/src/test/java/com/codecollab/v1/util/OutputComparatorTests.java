@@ -0,0 +1,38 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutputComparatorTests {
+
+	@Test
+	void comparesLikeTrimmedStrings() {
+		assertTrue(OutputComparator.matchesTrimmed(bytes("0 1\n"), bytes("  0 1\r\n\n")));
+		assertTrue(OutputComparator.matchesTrimmed(bytes("\n"), bytes("")));
+		assertFalse(OutputComparator.matchesTrimmed(bytes("0 1"), bytes("0  1")));
+		assertFalse(OutputComparator.matchesTrimmed(bytes("0 1"), bytes("0 12")));
+	}
+
+	@Test
+	void respectsTheBufferPosition() {
+		ByteBuffer expected = bytes("xx 42 ");
+		expected.position(2);
+
+		assertTrue(OutputComparator.matchesTrimmed(expected, bytes("42")));
+		assertEquals("42", OutputComparator.preview(expected, 100));
+	}
+
+	@Test
+	void previewsAreCut() {
+		assertEquals("abc... (6 bytes)", OutputComparator.preview(bytes(" abcdef\n"), 3));
+		assertEquals("abcdef", OutputComparator.preview(bytes("abcdef"), 6));
+	}
+
+	private static ByteBuffer bytes(String text) {
+		return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
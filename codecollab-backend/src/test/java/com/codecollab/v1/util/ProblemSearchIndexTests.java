@@ -0,0 +1,72 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProblemSearchIndexTests {
+
+	private static ProblemSearchIndex sample() {
+		ProblemSearchIndex index = new ProblemSearchIndex();
+		index.put(new ProblemSearchIndex.Document(1L, "Two Sum", "EASY", "ARRAYS",
+			"Return indices of the two numbers that add up to target."));
+		index.put(new ProblemSearchIndex.Document(2L, "Reverse String", "EASY", "STRINGS",
+			"Reverse the given string in place."));
+		index.put(new ProblemSearchIndex.Document(3L, "Three Sum Closest", "MEDIUM", "ARRAYS",
+			"Find three numbers whose sum is closest to target."));
+		return index;
+	}
+
+	@Test
+	void ranksTitleMatchesAboveDescriptionMatches() {
+		ProblemSearchIndex.Result result = sample().search("two", null, null, 10);
+
+		assertEquals(1L, result.hits().get(0).id());
+		assertEquals(1, result.total());
+	}
+
+	@Test
+	void requiresEveryTermAndTreatsTheLastAsAPrefix() {
+		ProblemSearchIndex index = sample();
+
+		assertEquals(List.of(3L, 1L), ids(index.search("sum targ", null, null, 10)));
+		assertEquals(List.of(3L), ids(index.search("sum clos", null, null, 10)));
+		assertEquals(List.of(), ids(index.search("sum string", null, null, 10)));
+	}
+
+	@Test
+	void filtersByFacetButCountsFacetsOverTheTextMatches() {
+		ProblemSearchIndex.Result result = sample().search("sum", "MEDIUM", null, 10);
+
+		assertEquals(List.of(3L), ids(result));
+		assertEquals(Map.of("EASY", 1, "MEDIUM", 1), result.difficultyFacets());
+		assertEquals(Map.of("ARRAYS", 2), result.categoryFacets());
+	}
+
+	@Test
+	void replacesADocumentWithoutLeavingOldTerms() {
+		ProblemSearchIndex index = sample();
+		index.put(new ProblemSearchIndex.Document(2L, "Palindrome Check", "EASY", "STRINGS",
+			"Check whether the text reads the same both ways."));
+
+		assertEquals(List.of(), ids(index.search("reverse", null, null, 10)));
+		assertEquals(List.of(2L), ids(index.search("palindrome", null, null, 10)));
+		assertEquals(3, index.size());
+
+		index.remove(2L);
+		assertEquals(List.of(), ids(index.search("palindrome", null, null, 10)));
+		assertEquals(List.of(), index.suggest("pali", 5));
+	}
+
+	@Test
+	void suggestsTermsByPrefixMostCommonFirst() {
+		assertEquals(List.of("target", "the", "to"), sample().suggest("t", 3));
+	}
+
+	private static List<Long> ids(ProblemSearchIndex.Result result) {
+		return result.hits().stream().map(ProblemSearchIndex.Hit::id).toList();
+	}
+}
@@ -0,0 +1,75 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingIndexTests {
+
+	@Test
+	void pagesFromTheTopAndSharesRankOnEqualRatings() {
+		RatingIndex index = new RatingIndex();
+		index.put(1L, "a", 1500);
+		index.put(2L, "b", 1200);
+		index.put(3L, "c", 1500);
+		index.put(4L, "d", 1100);
+
+		List<RatingIndex.Standing> first = index.page(0, 2);
+		assertEquals(List.of(1L, 3L), first.stream().map(RatingIndex.Standing::userId).toList());
+		assertEquals(1, first.get(0).rank());
+		assertEquals(1, first.get(1).rank());
+
+		List<RatingIndex.Standing> second = index.page(2, 2);
+		assertEquals(List.of(2L, 4L), second.stream().map(RatingIndex.Standing::userId).toList());
+		assertEquals(3, second.get(0).rank());
+		assertTrue(index.page(4, 2).isEmpty());
+	}
+
+	@Test
+	void percentileFollowsRatingChanges() {
+		RatingIndex index = new RatingIndex();
+		for (long id = 1; id <= 5; id++) {
+			index.put(id, "user" + id, 1000 + (int) id * 10);
+		}
+		assertEquals(0.0, index.standing(1L).percentile(), 1e-9);
+		assertEquals(100.0, index.standing(5L).percentile(), 1e-9);
+
+		index.put(1L, "user1", 2000);
+		assertEquals(1, index.standing(1L).rank());
+		assertEquals(100.0, index.standing(1L).percentile(), 1e-9);
+		assertEquals(5, index.standing(2L).rank());
+		assertEquals(5, index.size());
+	}
+
+	@Test
+	void deepPagesMatchTheSortedLadder() {
+		RatingIndex index = new RatingIndex();
+		Map<Long, Integer> ratings = new HashMap<>();
+		Random random = new Random(42);
+		// Most users sit on a handful of ratings, so pages start in the middle of a bucket
+		for (int i = 0; i < 5000; i++) {
+			long id = 1 + random.nextInt(2000);
+			int rating = 1190 + random.nextInt(20);
+			index.put(id, "user" + id, rating);
+			ratings.put(id, rating);
+		}
+
+		List<Long> ladder = new ArrayList<>(ratings.keySet());
+		ladder.sort(Comparator.comparing((Long id) -> -ratings.get(id)).thenComparing(id -> id));
+		for (int offset : new int[] { 0, 1, 37, 999, ladder.size() - 3 }) {
+			List<RatingIndex.Standing> page = index.page(offset, 25);
+			List<Long> expected = ladder.subList(offset, Math.min(offset + 25, ladder.size()));
+			assertEquals(expected, page.stream().map(RatingIndex.Standing::userId).toList());
+			for (RatingIndex.Standing standing : page) {
+				assertEquals(ratings.get(standing.userId()), standing.rating());
+			}
+		}
+	}
+}
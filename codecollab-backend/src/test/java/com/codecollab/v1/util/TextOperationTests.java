@@ -0,0 +1,45 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextOperationTests {
+
+	@Test
+	void concurrentEditsConvergeAfterTransform() {
+		String doc = "int main() {}";
+		TextOperation a = new TextOperation().retain(12).insert(" return 0; ").retain(1);
+		TextOperation b = new TextOperation().delete(3).insert("void").retain(10);
+
+		TextOperation[] primes = TextOperation.transform(a, b);
+
+		String viaA = primes[1].apply(a.apply(doc));
+		String viaB = primes[0].apply(b.apply(doc));
+		assertEquals(viaA, viaB);
+		assertEquals("void main() { return 0; }", viaA);
+	}
+
+	@Test
+	void composeMatchesSequentialApply() {
+		String doc = "hello";
+		TextOperation first = new TextOperation().retain(5).insert(" world");
+		TextOperation second = new TextOperation().delete(1).insert("H").retain(10);
+
+		TextOperation composed = TextOperation.compose(first, second);
+
+		assertEquals(second.apply(first.apply(doc)), composed.apply(doc));
+		assertEquals("Hello world", composed.apply(doc));
+	}
+
+	@Test
+	void jsonRoundTripUsesOtJsFormat() {
+		TextOperation op = TextOperation.fromJson(List.of(3, "ab", -2, 4));
+
+		assertEquals(List.of(3, "ab", -2, 4), op.toJson());
+		assertEquals(9, op.getBaseLength());
+		assertEquals(9, op.getTargetLength());
+	}
+}
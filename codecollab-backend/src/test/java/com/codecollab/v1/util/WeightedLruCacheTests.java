@@ -0,0 +1,44 @@
+package com.codecollab.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedLruCacheTests {
+
+	@Test
+	void evictsLeastRecentlyUsedUntilUnderTheBudget() {
+		WeightedLruCache<String, String> cache = new WeightedLruCache<>(10, String::length);
+		cache.put("a", "aaaa");
+		cache.put("b", "bbbb");
+		cache.get("a");
+		cache.put("c", "cccc");
+
+		assertNull(cache.get("b"));
+		assertEquals("aaaa", cache.get("a"));
+		assertEquals("cccc", cache.get("c"));
+		assertEquals(8, cache.weight());
+	}
+
+	@Test
+	void replacingAndInvalidatingKeepTheWeightInStep() {
+		WeightedLruCache<String, String> cache = new WeightedLruCache<>(10, String::length);
+		cache.put("a", "aaaa");
+		cache.put("a", "aa");
+		assertEquals(2, cache.weight());
+
+		cache.invalidate("a");
+		assertEquals(0, cache.weight());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void doesNotCacheValuesHeavierThanTheBudget() {
+		WeightedLruCache<String, String> cache = new WeightedLruCache<>(10, String::length);
+		cache.put("a", "aaaa");
+		cache.put("big", "x".repeat(11));
+
+		assertNull(cache.get("big"));
+		assertEquals("aaaa", cache.get("a"));
+	}
+}